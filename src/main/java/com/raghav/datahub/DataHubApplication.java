@@ -3,9 +3,11 @@ package com.raghav.datahub;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableKafka
+@EnableScheduling
 public class DataHubApplication {
     public static void main(String[] args) {
         SpringApplication.run(DataHubApplication.class, args);
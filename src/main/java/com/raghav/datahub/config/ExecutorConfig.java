@@ -3,8 +3,11 @@ package com.raghav.datahub.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class ExecutorConfig {
@@ -13,4 +16,25 @@ public class ExecutorConfig {
     public ExecutorService indexingExecutorService() {
         return Executors.newVirtualThreadPerTaskExecutor();
     }
-}
\ No newline at end of file
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService queryExecutorService() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Fixed number of virtual workers in front of a bounded queue;
+     * submissions beyond the queue capacity are rejected rather than buffered.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor asyncQueryExecutor(QueryProperties queryProperties) {
+        QueryProperties.Async async = queryProperties.getAsync();
+        return new ThreadPoolExecutor(
+                async.getWorkers(),
+                async.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                Thread.ofVirtual().name("query-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,17 @@
+package com.raghav.datahub.config;
+
+import com.raghav.datahub.service.indexing.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IndexingProperties.class)
+public class IndexingConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter embeddingLimiter(IndexingProperties props, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("indexing-embedding", props.getLimiter(), meterRegistry);
+    }
+}
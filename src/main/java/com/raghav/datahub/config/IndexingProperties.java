@@ -0,0 +1,343 @@
+package com.raghav.datahub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datahub.indexing")
+public class IndexingProperties {
+
+    /**
+     * How long an overloaded item is held back before Kafka redelivers it, in milliseconds.
+     */
+    private long overloadBackoffMs = 2000;
+
+    private Limiter limiter = new Limiter();
+
+    private Parallel parallel = new Parallel();
+
+    private FanOut fanOut = new FanOut();
+
+    private Checkpoint checkpoint = new Checkpoint();
+
+    private Lanes lanes = new Lanes();
+
+    private Outbox outbox = new Outbox();
+
+    private Dlq dlq = new Dlq();
+
+    private Migration migration = new Migration();
+
+    private Chunking chunking = new Chunking();
+
+    private Dedup dedup = new Dedup();
+
+    private AutoIndex autoIndex = new AutoIndex();
+
+    private Progress progress = new Progress();
+
+    /**
+     * AIMD concurrency limit in front of the embedding service on the indexing path.
+     */
+    @Getter
+    @Setter
+    public static class Limiter {
+
+        private int initialLimit = 5;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 64;
+
+        /**
+         * Multiplicative decrease applied on overload or excessive latency.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * A call slower than this multiple of the observed minimum latency counts as congestion.
+         */
+        private double latencyTolerance = 2.5;
+
+        /**
+         * Maximum time a record waits for a permit before being handed back to Kafka, in milliseconds.
+         */
+        private long maxQueueWaitMs = 5000;
+    }
+
+    /**
+     * Parallel consumer mode for item events: records are processed on virtual threads,
+     * handed out per tenant by the fair scheduler, and offsets are committed only up to the
+     * lowest contiguous completed record. When disabled, each consumer processes its records
+     * in partition order and tenants are not isolated from each other.
+     */
+    @Getter
+    @Setter
+    public static class Parallel {
+
+        private boolean enabled = true;
+
+        /**
+         * Maximum unacknowledged records per consumer (maps to max.poll.records).
+         */
+        private int maxInFlight = 256;
+
+        /**
+         * Items processed concurrently across all consumers, handed out by the fair scheduler.
+         */
+        private int workers = 64;
+
+        /**
+         * Characters of content a tenant's flow may process per scheduling round.
+         */
+        private int quantumChars = 4000;
+
+        /**
+         * Fraction of the workers one owner may hold while another owner has items waiting.
+         */
+        private double maxOwnerShare = 0.5;
+
+        /**
+         * Quantum multiplier for the interactive lane.
+         */
+        private int interactiveWeight = 4;
+    }
+
+    /**
+     * Pod fan-out producer: bounded in-flight sends on a batching, idempotent producer.
+     */
+    @Getter
+    @Setter
+    public static class FanOut {
+
+        /**
+         * Maximum item events sent but not yet acknowledged by the broker.
+         */
+        private int maxInFlight = 1000;
+
+        /**
+         * Maximum time to wait for outstanding sends to be acknowledged, in milliseconds.
+         */
+        private long sendTimeoutMs = 60_000;
+
+        private int lingerMs = 20;
+
+        private int batchSizeBytes = 131_072;
+
+        private String compressionType = "lz4";
+    }
+
+    /**
+     * Resumable fan-out: progress is persisted every intervalItems items, and a RUNNING job
+     * whose heartbeat is older than leaseMs is re-dispatched and taken over by another worker.
+     */
+    @Getter
+    @Setter
+    public static class Checkpoint {
+
+        private int intervalItems = 5000;
+
+        private long leaseMs = 300_000;
+
+        /**
+         * How often the fan-out owner refreshes its heartbeat, in milliseconds; keep well below leaseMs.
+         */
+        private long heartbeatIntervalMs = 30_000;
+
+        /**
+         * Interval between scans for fan-outs whose lease expired, in milliseconds.
+         */
+        private long rescanIntervalMs = 60_000;
+    }
+
+    /**
+     * Pods with at most interactiveMaxItems items are indexed on the interactive lane.
+     */
+    @Getter
+    @Setter
+    public static class Lanes {
+
+        private long interactiveMaxItems = 1000;
+    }
+
+    /**
+     * Relay that publishes job dispatch records from the outbox table.
+     */
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        private long pollIntervalMs = 100;
+
+        private int batchSize = 500;
+
+        /**
+         * Maximum time to wait for a batch to be acknowledged before leaving the rest for the next poll.
+         */
+        private long sendTimeoutMs = 10_000;
+
+        private int lingerMs = 5;
+
+        /**
+         * How long sent rows are kept before being purged, in milliseconds.
+         */
+        private long retentionMs = 86_400_000;
+
+        private long purgeIntervalMs = 3_600_000;
+
+        /**
+         * Failed attempts after which a message is parked: left unsent and no longer retried.
+         */
+        private int maxAttempts = 20;
+
+        /**
+         * Delay before the first retry of a failed message, doubled on each further failure.
+         */
+        private long retryBackoffMs = 1000;
+
+        private long maxRetryBackoffMs = 300_000;
+    }
+
+    /**
+     * Dead-letter ingestion, replay and quarantine for item events.
+     */
+    @Getter
+    @Setter
+    public static class Dlq {
+
+        /**
+         * Failures after which an item is quarantined instead of becoming replayable.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Default replay rate when a request does not set one.
+         */
+        private double replayRatePerSecond = 20;
+
+        private int replayBatchSize = 100;
+
+        private long sendTimeoutMs = 10_000;
+
+        private long depthRefreshMs = 30_000;
+    }
+
+    /**
+     * Background re-embedding of pods to a new embedding model.
+     */
+    @Getter
+    @Setter
+    public static class Migration {
+
+        /**
+         * Upper bound on chunks re-embedded per second across all migrating pods.
+         */
+        private double itemsPerSecond = 20;
+
+        /**
+         * Chunks embedded in one call and written in one transaction.
+         */
+        private int batchSize = 32;
+
+        private long pollIntervalMs = 1000;
+
+        /**
+         * How long a pod's active model is cached per node.
+         */
+        private long activeModelCacheMs = 5000;
+
+        /**
+         * A migrating pod whose heartbeat is older than this is taken over by another node,
+         * in milliseconds.
+         */
+        private long leaseMs = 60_000;
+    }
+
+    /**
+     * Splitting of items into chunks before embedding. Sizes are in approximate tokens,
+     * converted to characters with charsPerToken.
+     */
+    @Getter
+    @Setter
+    public static class Chunking {
+
+        private int maxTokens = 256;
+
+        /**
+         * Tokens repeated from the end of one chunk at the start of the next.
+         */
+        private int overlapTokens = 32;
+
+        private double charsPerToken = 4.0;
+
+        /**
+         * Chunks embedded per request, so a long item becomes several small calls.
+         */
+        private int embedBatchSize = 16;
+    }
+
+    /**
+     * Near-duplicate detection of items with SimHash. Items within maxHammingDistance bits
+     * of an earlier item of the same pod are linked to it and not embedded.
+     */
+    @Getter
+    @Setter
+    public static class Dedup {
+
+        private boolean enabled = true;
+
+        /**
+         * At most 3: candidates are found through four 16-bit bands of the fingerprint,
+         * which only guarantees a shared band up to that distance.
+         */
+        private int maxHammingDistance = 3;
+
+        /**
+         * Items with fewer words only match exact duplicates; their fingerprints are too
+         * unstable for a distance to mean much.
+         */
+        private int minTokens = 8;
+
+        private int shingleSize = 3;
+    }
+
+    /**
+     * Debounced indexing of items added to pods with auto-index enabled. A pod's pending
+     * items are dispatched once it has been quiet for debounceMs, once the oldest has
+     * waited maxWaitMs, or once maxItems have accumulated.
+     */
+    @Getter
+    @Setter
+    public static class AutoIndex {
+
+        private long debounceMs = 2000;
+
+        private long maxWaitMs = 10000;
+
+        private int maxItems = 100;
+
+        private long pollIntervalMs = 500;
+
+        /**
+         * Pods flushed per poll; the rest wait for the next one.
+         */
+        private int maxPodsPerPoll = 100;
+    }
+
+    /**
+     * Recovery of job counters from the per-item outcomes.
+     */
+    @Getter
+    @Setter
+    public static class Progress {
+
+        /**
+         * A fanned-out job whose counters have not moved for this long is recounted, in milliseconds.
+         */
+        private long stallMs = 300_000;
+
+        private long reconcileIntervalMs = 60_000;
+    }
+}
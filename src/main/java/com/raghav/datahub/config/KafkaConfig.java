@@ -5,9 +5,11 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
@@ -40,6 +42,22 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic podIndexingJobsInteractiveTopic() {
+        return TopicBuilder.name("pod-indexing-jobs-interactive")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic itemIndexingEventsInteractiveTopic() {
+        return TopicBuilder.name("item-indexing-events-interactive")
+                .partitions(5)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic itemIndexingEventsDlqTopic() {
         return TopicBuilder.name("item-indexing-events-dlq")
@@ -49,6 +67,15 @@ public class KafkaConfig {
     }
 
     @Bean
+    public NewTopic itemIndexingEventsQuarantineTopic() {
+        return TopicBuilder.name("item-indexing-events-quarantine")
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    @Primary
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -58,10 +85,70 @@ public class KafkaConfig {
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Producer tuned for pod fan-out: large batches with a short linger, compression,
+     * and idempotence with acks=all so retried sends neither duplicate nor reorder.
+     */
+    @Bean
+    public ProducerFactory<String, Object> fanOutProducerFactory(IndexingProperties indexingProperties) {
+        IndexingProperties.FanOut fanOut = indexingProperties.getFanOut();
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, fanOut.getLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, fanOut.getBatchSizeBytes());
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, fanOut.getCompressionType());
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> fanOutKafkaTemplate(
+            @Qualifier("fanOutProducerFactory") ProducerFactory<String, Object> fanOutProducerFactory) {
+        return new KafkaTemplate<>(fanOutProducerFactory);
+    }
+
+    /**
+     * Producer for the outbox relay. Payloads are already serialized JSON, so values are
+     * written as plain strings; consumers see the same bytes as from the JSON serializer.
+     */
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory(IndexingProperties indexingProperties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, indexingProperties.getOutbox().getLingerMs());
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate(
+            @Qualifier("outboxProducerFactory") ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+
+    /**
+     * DLQ, replay and quarantine records carry the original item JSON verbatim,
+     * so they share the plain-string outbox producer.
+     */
+    @Bean
+    public KafkaTemplate<String, String> dlqKafkaTemplate(
+            @Qualifier("outboxProducerFactory") ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -84,4 +171,34 @@ public class KafkaConfig {
 
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Container factory for item events. In parallel mode, acknowledgments may arrive
+     * out of order from worker threads; asyncAcks makes the container commit only the
+     * contiguous acknowledged prefix of each partition and pause the consumer until
+     * the previous poll (bounded by max.poll.records) is fully acknowledged.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> itemListenerContainerFactory(
+            IndexingProperties indexingProperties) {
+        IndexingProperties.Parallel parallel = indexingProperties.getParallel();
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        if (parallel.isEnabled()) {
+            config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, parallel.getMaxInFlight());
+        }
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new StringDeserializer()));
+
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(parallel.isEnabled());
+
+        return factory;
+    }
+}
@@ -1,16 +1,31 @@
 package com.raghav.datahub.config;
 
+import com.raghav.datahub.infrastructure.http.InstrumentedPoolingConnectionManager;
+import com.raghav.datahub.infrastructure.http.LlmEndpoint;
+import com.raghav.datahub.infrastructure.http.LlmEndpointRouter;
 import com.raghav.datahub.service.llm.FakeLlmClient;
 import com.raghav.datahub.service.llm.LlmClient;
 import com.raghav.datahub.service.llm.OpenAiLlmClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.util.List;
+
 @Configuration
 @EnableConfigurationProperties(LlmProperties.class)
 @RequiredArgsConstructor
@@ -18,13 +33,18 @@ public class LlmConfig {
 
     private final LlmProperties props;
 
+    /**
+     * Pooled keep-alive client for generation traffic. Kept separate from embeddings
+     * so long-running generations cannot starve the embedding pool.
+     */
     @Bean
-    public RestClient.Builder llmRestClientBuilder() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(props.getConnectTimeoutMs());
-        factory.setReadTimeout(props.getReadTimeoutMs());
+    public CloseableHttpClient generationHttpClient(MeterRegistry meterRegistry) {
+        return pooledHttpClient("llm-generation", props.getGenerationPool(), meterRegistry);
+    }
 
-        return RestClient.builder().requestFactory(factory);
+    @Bean
+    public CloseableHttpClient embeddingHttpClient(MeterRegistry meterRegistry) {
+        return pooledHttpClient("llm-embedding", props.getEmbeddingPool(), meterRegistry);
     }
 
     @Bean
@@ -35,8 +55,9 @@ public class LlmConfig {
 
     @Bean
     @ConditionalOnProperty(name = "datahub.llm.provider", havingValue = "openai")
-    public LlmClient openAiLlmClient(RestClient.Builder llmRestClientBuilder) {
-        RestClient restClient = llmRestClientBuilder
+    public LlmClient openAiLlmClient(@Qualifier("generationHttpClient") CloseableHttpClient generationHttpClient) {
+        RestClient restClient = RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(generationHttpClient))
                 .baseUrl(props.getBaseUrl())
                 .defaultHeader("Authorization", "Bearer " + props.getApiKey())
                 .build();
@@ -44,10 +65,63 @@ public class LlmConfig {
     }
 
     @Bean
-    public RestClient ollamaRestClient(RestClient.Builder llmRestClientBuilder) {
-        return llmRestClientBuilder
-                .baseUrl(props.getBaseUrl())
-                .build();
+    public LlmEndpointRouter generationRouter(
+            @Qualifier("generationHttpClient") CloseableHttpClient generationHttpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        return router("generation", props.resolveGenerationEndpoints(), generationHttpClient,
+                circuitBreakerRegistry, meterRegistry);
+    }
+
+    @Bean
+    public LlmEndpointRouter embeddingRouter(
+            @Qualifier("embeddingHttpClient") CloseableHttpClient embeddingHttpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        return router("embedding", props.resolveEmbeddingEndpoints(), embeddingHttpClient,
+                circuitBreakerRegistry, meterRegistry);
     }
 
-}
\ No newline at end of file
+    /**
+     * One endpoint per host, all sharing the role's connection pool (limits apply per route).
+     * Per-endpoint breakers reuse the settings of the "llm" instance.
+     */
+    private LlmEndpointRouter router(String role, List<String> baseUrls, CloseableHttpClient httpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        CircuitBreakerConfig breakerConfig = circuitBreakerRegistry.circuitBreaker("llm").getCircuitBreakerConfig();
+
+        List<LlmEndpoint> endpoints = baseUrls.stream()
+                .map(url -> new LlmEndpoint(
+                        url,
+                        RestClient.builder().requestFactory(requestFactory).baseUrl(url).build(),
+                        circuitBreakerRegistry.circuitBreaker("llm-" + role + "-" + url, breakerConfig)))
+                .toList();
+        return new LlmEndpointRouter(role, endpoints, meterRegistry);
+    }
+
+    private CloseableHttpClient pooledHttpClient(String poolName, LlmProperties.HttpPool pool,
+            MeterRegistry meterRegistry) {
+        InstrumentedPoolingConnectionManager connectionManager =
+                new InstrumentedPoolingConnectionManager(poolName, meterRegistry);
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(props.getConnectTimeoutMs()))
+                .setSocketTimeout(Timeout.ofMilliseconds(props.getReadTimeoutMs()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(pool.getAcquireTimeoutMs()))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(pool.getKeepAliveMs()))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(pool.getMaxIdleMs()))
+                .build();
+    }
+}
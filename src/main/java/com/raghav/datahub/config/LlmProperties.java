@@ -4,6 +4,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "datahub.llm")
@@ -21,6 +24,28 @@ public class LlmProperties {
      */
     private String baseUrl;
 
+    /**
+     * Base URLs of the hosts serving text generation.
+     * Falls back to baseUrl when empty.
+     */
+    private List<String> generationEndpoints = new ArrayList<>();
+
+    /**
+     * Base URLs of the hosts serving embeddings.
+     * Falls back to baseUrl when empty.
+     */
+    private List<String> embeddingEndpoints = new ArrayList<>();
+
+    /**
+     * Interval between active health checks of each endpoint, in milliseconds.
+     */
+    private long healthCheckIntervalMs = 10_000;
+
+    /**
+     * Path probed by the health check (Ollama lists local models here).
+     */
+    private String healthCheckPath = "/api/tags";
+
     /**
      * API key for cloud providers like OpenAI.
      * Not used for Ollama.
@@ -36,6 +61,12 @@ public class LlmProperties {
 
     private String embeddingModel;
 
+    /**
+     * Other embedding models a pod may be assigned, e.g. a small 384-dimension model for
+     * high-volume pods. embeddingModel is always allowed and is the default for new pods.
+     */
+    private List<String> allowedEmbeddingModels = new ArrayList<>();
+
     /**
      * Connection timeout in milliseconds.
      */
@@ -45,4 +76,52 @@ public class LlmProperties {
      * Read timeout in milliseconds.
      */
     private int readTimeoutMs = 300000;
+
+    public List<String> resolveGenerationEndpoints() {
+        return generationEndpoints.isEmpty() ? List.of(baseUrl) : generationEndpoints;
+    }
+
+    public List<String> resolveEmbeddingEndpoints() {
+        return embeddingEndpoints.isEmpty() ? List.of(baseUrl) : embeddingEndpoints;
+    }
+
+    /**
+     * Connection pool for text generation traffic (long-running requests).
+     */
+    private HttpPool generationPool = new HttpPool();
+
+    /**
+     * Connection pool for embedding traffic (short, high-rate requests).
+     */
+    private HttpPool embeddingPool = new HttpPool();
+
+    @Getter
+    @Setter
+    public static class HttpPool {
+
+        /**
+         * Maximum open connections across all routes.
+         */
+        private int maxTotal = 50;
+
+        /**
+         * Maximum open connections per route (host:port).
+         */
+        private int maxPerRoute = 20;
+
+        /**
+         * Keep-alive applied when the server does not send a Keep-Alive header, in milliseconds.
+         */
+        private long keepAliveMs = 60_000;
+
+        /**
+         * Idle connections are evicted after this many milliseconds.
+         */
+        private long maxIdleMs = 30_000;
+
+        /**
+         * Maximum time to wait for a pooled connection, in milliseconds.
+         */
+        private long acquireTimeoutMs = 10_000;
+    }
 }
@@ -0,0 +1,230 @@
+package com.raghav.datahub.config;
+
+import com.raghav.datahub.domain.model.SearchRecall;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datahub.query")
+public class QueryProperties {
+
+    /**
+     * Maximum number of chunks packed into the prompt context.
+     */
+    private int topK = 5;
+
+    /**
+     * Candidates fetched from the vector store per selected chunk.
+     * Over-fetching gives deduplication and MMR room to pick diverse chunks.
+     */
+    private int candidateMultiplier = 4;
+
+    private Context context = new Context();
+
+    private Batch batch = new Batch();
+
+    private Async async = new Async();
+
+    private Hedging hedging = new Hedging();
+
+    private Search search = new Search();
+
+    @Getter
+    @Setter
+    public static class Context {
+
+        /**
+         * Default context budget in tokens, used when the model has no entry in modelMaxTokens.
+         */
+        private int maxTokens = 1500;
+
+        /**
+         * Per-model context budget in tokens, keyed by model name (e.g. phi3:mini).
+         */
+        private Map<String, Integer> modelMaxTokens = new HashMap<>();
+
+        /**
+         * Rough characters-per-token ratio used to turn the token budget into a character budget.
+         */
+        private double charsPerToken = 4.0;
+
+        /**
+         * MMR trade-off: 1.0 ranks purely by relevance, 0.0 purely by diversity.
+         */
+        private double mmrLambda = 0.7;
+
+        /**
+         * Cosine similarity above which two candidate chunks are treated as near-duplicates.
+         */
+        private double duplicateThreshold = 0.95;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Maximum number of questions accepted in one batch request.
+         */
+        private int maxQuestions = 500;
+
+        /**
+         * Maximum number of concurrent LLM generations per batch request.
+         */
+        private int llmConcurrency = 4;
+
+        /**
+         * Timeout for the streamed batch response in milliseconds.
+         */
+        private long timeoutMs = 1_800_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Number of query jobs processed concurrently.
+         */
+        private int workers = 8;
+
+        /**
+         * Maximum number of query jobs waiting for a worker; further submissions are rejected.
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * How long finished query jobs (and their answers) are kept, in milliseconds.
+         */
+        private long retentionMs = 3_600_000;
+
+        /**
+         * Interval between purges of expired query jobs, in milliseconds.
+         */
+        private long purgeIntervalMs = 60_000;
+
+        /**
+         * Age after which a job still PENDING is taken to be lost with its node's queue and
+         * is queued again, in milliseconds.
+         */
+        private long recoverAfterMs = 600_000;
+
+        /**
+         * A RUNNING job whose heartbeat is older than this is taken to be lost with its node
+         * and is queued again, in milliseconds. Keep it a few heartbeat intervals long.
+         */
+        private long leaseMs = 60_000;
+
+        private long heartbeatIntervalMs = 10_000;
+
+        /**
+         * Interval between scans for lost query jobs, in milliseconds.
+         */
+        private long recoveryIntervalMs = 60_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        /**
+         * Send a duplicate question-embedding request when the first one is slow.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile of recent embedding calls after which a hedge is sent.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Lower bound for the hedge delay in milliseconds, used until enough samples exist.
+         */
+        private long minDelayMs = 50;
+
+        /**
+         * Maximum share of requests that may be hedged, in percent.
+         */
+        private double maxHedgePercent = 5.0;
+
+        /**
+         * Number of recent latencies kept for the percentile estimate.
+         */
+        private int windowSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        /**
+         * Recall level for requests that do not name one.
+         */
+        private SearchRecall defaultRecall = SearchRecall.BALANCED;
+
+        /**
+         * Pods with at most this many chunks are searched exactly: reading and sorting them is
+         * cheap and, unlike a filtered HNSW scan, never misses a match.
+         */
+        private long exactMaxChunks = 2000;
+
+        /**
+         * pgvector iterative scan mode for larger pods (relaxed_order, strict_order or off).
+         * Needs pgvector 0.8 or later; use off on older versions.
+         */
+        private String iterativeScan = "relaxed_order";
+
+        /**
+         * Upper bound on hnsw.max_scan_tuples, whatever the pod's share of the table.
+         */
+        private int maxScanTuples = 100_000;
+
+        /**
+         * How long a pod's chunk count is reused before it is counted again, in milliseconds.
+         */
+        private long podSizeCacheMs = 60_000;
+
+        private Level fast = new Level(40, 2.0);
+
+        private Level balanced = new Level(100, 5.0);
+
+        private Level high = new Level(200, 20.0);
+
+        public Level level(SearchRecall recall) {
+            return switch (recall) {
+                case FAST -> fast;
+                case BALANCED -> balanced;
+                case HIGH -> high;
+            };
+        }
+
+        @Getter
+        @Setter
+        public static class Level {
+
+            /**
+             * HNSW candidate list size; raised to the requested limit when smaller.
+             */
+            private int efSearch;
+
+            /**
+             * Headroom on the tuples an iterative scan expects to visit before it has seen
+             * enough of the pod's chunks.
+             */
+            private double scanFactor;
+
+            public Level() {
+            }
+
+            public Level(int efSearch, double scanFactor) {
+                this.efSearch = efSearch;
+                this.scanFactor = scanFactor;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.raghav.datahub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datahub.vector")
+public class VectorProperties {
+
+    /**
+     * Precision of newly created vector tables. Existing tables keep theirs until converted
+     * through /admin/vector-tables.
+     */
+    private Precision precision = Precision.HALF;
+
+    private Conversion conversion = new Conversion();
+
+    private Maintenance maintenance = new Maintenance();
+
+    private BulkLoad bulkLoad = new BulkLoad();
+
+    public enum Precision {
+        /**
+         * 4-byte floats (pgvector vector).
+         */
+        FULL("vector", "vector_l2_ops"),
+        /**
+         * 2-byte floats (pgvector halfvec): half the table and index size.
+         */
+        HALF("halfvec", "halfvec_l2_ops");
+
+        private final String columnType;
+        private final String opsClass;
+
+        Precision(String columnType, String opsClass) {
+            this.columnType = columnType;
+            this.opsClass = opsClass;
+        }
+
+        public String columnType() {
+            return columnType;
+        }
+
+        public String opsClass() {
+            return opsClass;
+        }
+    }
+
+    /**
+     * Online conversion of existing tables from FULL to HALF precision.
+     */
+    @Getter
+    @Setter
+    public static class Conversion {
+
+        /**
+         * Rows back-filled per transaction.
+         */
+        private int batchSize = 2000;
+
+        /**
+         * Pause between batches, so the back-fill does not saturate the database.
+         */
+        private long pauseMs = 50;
+
+        private long pollIntervalMs = 5000;
+
+        /**
+         * Compaction batches between two VACUUMs of the table.
+         */
+        private int vacuumEveryBatches = 10;
+    }
+
+    /**
+     * Background clean-up of vector tables after items and pods are deleted.
+     */
+    @Getter
+    @Setter
+    public static class Maintenance {
+
+        private boolean enabled = true;
+
+        private long intervalMs = 300000;
+
+        /**
+         * Orphaned chunks (whose item no longer exists) deleted per transaction.
+         */
+        private int sweepBatchSize = 5000;
+
+        /**
+         * A table is vacuumed once this share of its rows are dead...
+         */
+        private double deadTupleRatio = 0.1;
+
+        /**
+         * ...and there are at least this many.
+         */
+        private long minDeadTuples = 1000;
+    }
+
+    /**
+     * Index build at the end of a bulk load. Applied to the building session only.
+     */
+    @Getter
+    @Setter
+    public static class BulkLoad {
+
+        /**
+         * Should hold the whole HNSW graph; the build slows down sharply once it no longer fits.
+         */
+        private String maintenanceWorkMem = "2GB";
+
+        private int parallelWorkers = 4;
+
+        private long pollIntervalMs = 5000;
+
+        /**
+         * How often every node re-reads the catalog, and so how long a node may keep writing
+         * to the live table after a bulk load was started elsewhere.
+         */
+        private long catalogRefreshMs = 5000;
+    }
+}
@@ -12,4 +12,12 @@ public class ItemIndexingEvent {
     private String dataItemId;
     private String content;
     private String modelVersion;
+    /**
+     * Job that produced this event; null for events not tied to a job.
+     */
+    private String jobId;
+    /**
+     * Pod owner, used to schedule items fairly across tenants.
+     */
+    private String ownerUserId;
 }
@@ -0,0 +1,10 @@
+package com.raghav.datahub.domain.exception;
+
+/**
+ * Thrown when no concurrency permit became available within the allowed wait.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
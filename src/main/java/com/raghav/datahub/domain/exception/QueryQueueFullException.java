@@ -0,0 +1,10 @@
+package com.raghav.datahub.domain.exception;
+
+/**
+ * Thrown when the async query queue is at capacity; callers should retry later.
+ */
+public class QueryQueueFullException extends RuntimeException {
+    public QueryQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.raghav.datahub.domain.model;
 
 import com.raghav.datahub.domain.annotation.Default; // Import this
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.time.Instant;
@@ -15,6 +16,19 @@ public class DataItem {
     private final String content;
     private final Instant createdAt;
 
+    /**
+     * SimHash fingerprint of the content; null for items stored before fingerprinting.
+     */
+    @Setter
+    private Long simhash;
+
+    /**
+     * Earlier item of the same pod this one nearly duplicates. Duplicates are not embedded;
+     * the canonical item's chunks stand in for them.
+     */
+    @Setter
+    private String canonicalItemId;
+
     public DataItem(String content) {
         this(UUID.randomUUID().toString(), content, Instant.now());
     }
@@ -0,0 +1,68 @@
+package com.raghav.datahub.domain.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * An item event that failed processing, ingested from the DLQ topic so it can be
+ * filtered and replayed without re-running the whole pod job.
+ */
+@Getter
+@Setter
+@ToString(exclude = "payload")
+public class DeadLetter {
+
+    private final Long id;
+    private final String sourceTopic;
+    private final String messageKey;
+    private final String payload;
+    private final String podId;
+    private final String jobId;
+    private final String dataItemId;
+    private final String errorClass;
+    private final String errorMessage;
+    /**
+     * Number of times the item has failed processing, including the failure that produced this record.
+     */
+    private final int attempts;
+    private final Instant failedAt;
+
+    private DeadLetterStatus status;
+    private Instant replayedAt;
+
+    /**
+     * Position of the DLQ record this was ingested from.
+     */
+    private Integer dlqPartition;
+    private Long dlqOffset;
+
+    /**
+     * Full constructor used when loading from persistence; id is null for new dead letters.
+     */
+    public DeadLetter(Long id,
+            String sourceTopic,
+            String messageKey,
+            String payload,
+            String podId,
+            String jobId,
+            String dataItemId,
+            String errorClass,
+            String errorMessage,
+            int attempts,
+            Instant failedAt) {
+        this.id = id;
+        this.sourceTopic = sourceTopic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.podId = podId;
+        this.jobId = jobId;
+        this.dataItemId = dataItemId;
+        this.errorClass = errorClass;
+        this.errorMessage = errorMessage;
+        this.attempts = attempts;
+        this.failedAt = failedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.raghav.datahub.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Selects dead letters for replay; null fields match everything.
+ * errorClass matches either the fully qualified or the simple exception class name.
+ */
+public record DeadLetterFilter(
+        String podId,
+        Instant failedFrom,
+        Instant failedTo,
+        String errorClass
+) {}
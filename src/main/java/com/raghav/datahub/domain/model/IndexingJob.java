@@ -21,6 +21,18 @@ public class IndexingJob {
     private Instant finishedAt;
     private String errorMessage;
 
+    // Progress: expectedItems is set once fan-out has finished
+    private Long expectedItems;
+    private long processedItems;
+    private long failedItems;
+    private Instant fannedOutAt;
+    private Instant progressAt;
+
+    // Resumable fan-out: last item sent (by id order) and how many items precede it
+    private String checkpointItemId;
+    private long checkpointCount;
+    private Instant heartbeatAt;
+
     public IndexingJob(String podId) {
         this(
                 UUID.randomUUID().toString(),
@@ -0,0 +1,7 @@
+package com.raghav.datahub.domain.model;
+
+public enum MigrationStatus {
+    MIGRATING,
+    COMPLETED,
+    FAILED
+}
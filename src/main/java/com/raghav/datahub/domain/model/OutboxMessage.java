@@ -0,0 +1,49 @@
+package com.raghav.datahub.domain.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A Kafka record written in the same transaction as the state change it announces,
+ * and published later by the outbox relay.
+ */
+@Getter
+@Setter
+@ToString(exclude = "payload")
+public class OutboxMessage {
+
+    private final Long id;
+    private final String topic;
+    private final String messageKey;
+    /**
+     * Pod the message is about, so a deleted pod's unsent messages can be dropped.
+     */
+    private final String podId;
+    private final String payload;
+    private final Instant createdAt;
+
+    private Instant sentAt;
+    private int attempts;
+    private String lastError;
+    private Instant nextAttemptAt;
+
+    public OutboxMessage(String topic, String messageKey, String podId, String payload) {
+        this(null, topic, messageKey, podId, payload, Instant.now());
+    }
+
+    /**
+     * Constructor used when loading from persistence; mutable fields are set by the mapper.
+     */
+    public OutboxMessage(Long id, String topic, String messageKey, String podId, String payload,
+            Instant createdAt) {
+        this.id = id;
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.podId = podId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
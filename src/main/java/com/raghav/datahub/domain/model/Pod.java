@@ -16,6 +16,11 @@ public class Pod {
     private final List<DataItem> items;
     private Long version; // For optimistic locking
 
+    /**
+     * Index new items shortly after they are added instead of waiting for an indexing job.
+     */
+    private boolean autoIndex;
+
     public Pod(String name, String ownerUserId) {
         this(UUID.randomUUID().toString(), name, ownerUserId, new ArrayList<>(), null);
     }
@@ -47,6 +52,14 @@ public class Pod {
         this.version = version;
     }
 
+    public boolean isAutoIndex() {
+        return autoIndex;
+    }
+
+    public void setAutoIndex(boolean autoIndex) {
+        this.autoIndex = autoIndex;
+    }
+
     public String getId() {
         return id;
     }
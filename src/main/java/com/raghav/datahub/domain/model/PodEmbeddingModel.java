@@ -0,0 +1,39 @@
+package com.raghav.datahub.domain.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * The embedding model a pod's vectors were produced with, and the state of any migration
+ * to a new model. Queries always embed with activeModel; it only changes when every
+ * chunk of the pod has a vector from targetModel.
+ */
+@Getter
+@Setter
+@ToString
+public class PodEmbeddingModel {
+
+    private final String podId;
+
+    private String activeModel;
+    private String targetModel;
+    private MigrationStatus migrationStatus;
+    private long totalItems;
+    private long migratedItems;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String errorMessage;
+    private Instant heartbeatAt;
+
+    public PodEmbeddingModel(String podId, String activeModel) {
+        this.podId = podId;
+        this.activeModel = activeModel;
+    }
+
+    public boolean isMigrating() {
+        return migrationStatus == MigrationStatus.MIGRATING;
+    }
+}
@@ -0,0 +1,44 @@
+package com.raghav.datahub.domain.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ToString
+public class QueryJob {
+
+    private final String queryId;
+    private final String podId;
+    private final String question;
+    private final Instant createdAt;
+
+    private JobStatus status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String answer;
+    private String[] usedItemIds;
+    private String errorMessage;
+    private Instant expiresAt;
+    private SearchRecall recall;
+
+    public QueryJob(String podId, String question, Instant expiresAt) {
+        this(UUID.randomUUID().toString(), podId, question, Instant.now());
+        this.status = JobStatus.PENDING;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Constructor used when loading from persistence; mutable fields are set by the mapper.
+     */
+    public QueryJob(String queryId, String podId, String question, Instant createdAt) {
+        this.queryId = queryId;
+        this.podId = podId;
+        this.question = question;
+        this.createdAt = createdAt;
+    }
+}
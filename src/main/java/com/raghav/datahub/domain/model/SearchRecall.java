@@ -0,0 +1,11 @@
+package com.raghav.datahub.domain.model;
+
+/**
+ * Recall/latency trade-off of a pod's vector search; see QueryProperties.Search for what
+ * each level costs.
+ */
+public enum SearchRecall {
+    FAST,
+    BALANCED,
+    HIGH
+}
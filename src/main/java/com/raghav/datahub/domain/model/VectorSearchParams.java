@@ -0,0 +1,16 @@
+package com.raghav.datahub.domain.model;
+
+/**
+ * How one filtered vector search is run.
+ *
+ * @param exact         scan the pod's chunks and sort them instead of using the HNSW index
+ * @param efSearch      HNSW candidate list size (hnsw.ef_search)
+ * @param iterativeScan hnsw.iterative_scan mode: off, relaxed_order or strict_order
+ * @param maxScanTuples tuples an iterative scan may visit before it stops (hnsw.max_scan_tuples)
+ */
+public record VectorSearchParams(boolean exact, int efSearch, String iterativeScan, int maxScanTuples) {
+
+    public static VectorSearchParams exactScan() {
+        return new VectorSearchParams(true, 0, "off", 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.raghav.datahub.domain.port;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Content-addressed embeddings shared by all pods: a text is embedded once per model,
+ * however many pods contain it.
+ */
+public interface EmbeddingStore {
+
+    /**
+     * @return the stored embeddings of the given content hashes, keyed by hash; hashes
+     *         without an embedding are absent
+     */
+    Map<String, float[]> findAll(String model, Collection<String> contentHashes);
+
+    /**
+     * Stores embeddings keyed by content hash. An existing embedding is kept.
+     */
+    void saveAll(String model, Map<String, float[]> embeddings);
+}
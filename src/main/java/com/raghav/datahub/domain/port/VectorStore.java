@@ -1,15 +1,54 @@
 package com.raghav.datahub.domain.port;
 
+import com.raghav.datahub.domain.model.VectorSearchParams;
 import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
 
 import java.util.List;
 
+/**
+ * Chunks are stored per embedding model: every read names the model whose vectors it wants,
+ * and a chunk is written to the storage of its modelVersion.
+ */
 public interface VectorStore {
     void saveChunk(VectorChunkEntity chunk);
 
-    List<VectorChunkEntity> findSimilar(float[] embedding, int limit);
+    List<VectorChunkEntity> findSimilar(String model, float[] embedding, int limit);
 
-    List<VectorChunkEntity> findSimilarByPodId(String podId, float[] embedding, int limit);
+    /**
+     * Nearest chunks of a pod among those embedded with the given model.
+     */
+    List<VectorChunkEntity> findSimilarByPodId(String podId, String model, float[] embedding, int limit,
+            VectorSearchParams params);
 
-    List<VectorChunkEntity> findByPodId(String podId);
+    List<VectorChunkEntity> findByPodId(String podId, String model);
+
+    long countByPodId(String podId, String model);
+
+    /**
+     * Planner estimate of the chunks stored under a model; cheap, but only as fresh as the last ANALYZE.
+     */
+    long estimateCount(String model);
+
+    /**
+     * Chunks of a pod stored under sourceModel that have no up-to-date copy under targetModel, in id order.
+     */
+    List<VectorChunkEntity> findPendingMigration(String podId, String sourceModel, String targetModel, int limit);
+
+    int deleteByPodId(String podId, String model);
+
+    /**
+     * Removes an item's chunks from position fromIndex on, left over when re-indexing
+     * produced fewer chunks than before.
+     */
+    int deleteItemChunksFrom(String podId, String model, String dataItemId, int fromIndex);
+
+    /**
+     * Removes an item's chunks under every model, including a migration's partial copy.
+     */
+    int deleteItemChunks(String podId, String dataItemId);
+
+    /**
+     * Removes a pod's chunks under every model.
+     */
+    int deleteAllByPodId(String podId);
 }
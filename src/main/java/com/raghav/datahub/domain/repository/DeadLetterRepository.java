@@ -0,0 +1,40 @@
+package com.raghav.datahub.domain.repository;
+
+import com.raghav.datahub.domain.model.DeadLetter;
+import com.raghav.datahub.domain.model.DeadLetterFilter;
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+
+import java.util.List;
+
+public interface DeadLetterRepository {
+
+    DeadLetter save(DeadLetter deadLetter);
+
+    /**
+     * Insert a dead letter unless one was already ingested from the same DLQ position.
+     *
+     * @return false if it was a duplicate
+     */
+    boolean saveIfAbsent(DeadLetter deadLetter);
+
+    boolean existsAt(int dlqPartition, long dlqOffset);
+
+    /**
+     * Lock up to limit PENDING dead letters matching the filter, oldest first,
+     * skipping rows locked by a concurrent replay. Must run inside a transaction.
+     */
+    List<DeadLetter> lockPendingBatch(DeadLetterFilter filter, int limit);
+
+    void markReplayed(List<Long> ids);
+
+    long countByStatus(DeadLetterStatus status);
+
+    long countPending(DeadLetterFilter filter);
+
+    /**
+     * Drop the pod's dead letters that still wait for a replay.
+     *
+     * @return number of deleted dead letters
+     */
+    int deletePendingByPodId(String podId);
+}
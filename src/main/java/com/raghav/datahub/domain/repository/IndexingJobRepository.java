@@ -3,12 +3,38 @@ package com.raghav.datahub.domain.repository;
 import com.raghav.datahub.domain.model.IndexingJob;
 import com.raghav.datahub.domain.model.JobStatus;
 
+import java.time.Instant;
+import java.util.List;
+
 public interface IndexingJobRepository {
 
+    /**
+     * What recording an item's outcome changed.
+     */
+    enum OutcomeChange {
+        /**
+         * First outcome of the item within the job.
+         */
+        NEW,
+        /**
+         * The item had the opposite outcome before (e.g. failed, then succeeded on a re-send).
+         */
+        FLIPPED,
+        /**
+         * Same outcome as already recorded, e.g. a redelivery.
+         */
+        UNCHANGED
+    }
+
     IndexingJob save(IndexingJob job);
 
     IndexingJob findById(String jobId);
 
+    /**
+     * Most recently created job for the pod in the given status, or null.
+     */
+    IndexingJob findLatestByPodIdAndStatus(String podId, JobStatus status);
+
     /**
      * Atomically update job status only if current status matches expected.
      * 
@@ -16,6 +42,35 @@ public interface IndexingJobRepository {
      */
     boolean updateStatusConditionally(String jobId, JobStatus expectedStatus, JobStatus newStatus);
 
+    /**
+     * Claim a job for fan-out: either a PENDING job while no other job of the pod is still
+     * making progress (heartbeat or item outcomes since staleBefore), or a RUNNING job whose
+     * fan-out has not finished and whose worker stopped heartbeating before staleBefore.
+     *
+     * @return true if this caller now owns the fan-out
+     */
+    boolean claimForFanOut(String jobId, Instant staleBefore);
+
+    /**
+     * Persist the last item fanned out (in id order) and refresh the job's heartbeat.
+     */
+    void saveCheckpoint(String jobId, String lastItemId, long itemCount);
+
+    /**
+     * Refresh the heartbeat of a fan-out in progress.
+     */
+    void heartbeat(String jobId);
+
+    /**
+     * RUNNING jobs whose fan-out has not finished and whose worker stopped heartbeating before staleBefore.
+     */
+    List<IndexingJob> findAbandonedFanOuts(Instant staleBefore);
+
+    /**
+     * PENDING jobs created before createdBefore that {@link #claimForFanOut} would accept now.
+     */
+    List<IndexingJob> findClaimablePending(Instant createdBefore, Instant staleBefore);
+
     /**
      * Mark job as completed.
      */
@@ -25,4 +80,50 @@ public interface IndexingJobRepository {
      * Mark job as failed with error message.
      */
     void markAsFailed(String jobId, String errorMessage);
+
+    /**
+     * Mark the pod's PENDING and RUNNING jobs as failed with error message.
+     *
+     * @return number of failed jobs
+     */
+    int failOpenByPodId(String podId, String errorMessage);
+
+    /**
+     * Record that fan-out finished and how many items the job must account for.
+     */
+    void markFannedOut(String jobId, long expectedItems);
+
+    /**
+     * Durably record the latest outcome of one item of the job.
+     */
+    OutcomeChange recordItemOutcome(String jobId, String itemId, boolean failed);
+
+    /**
+     * Add batched item outcomes to the job's counters.
+     */
+    void incrementItemCounts(String jobId, long processed, long failed);
+
+    /**
+     * Reset the job's counters to the recorded item outcomes.
+     */
+    void recountItems(String jobId);
+
+    /**
+     * RUNNING jobs whose fan-out finished and whose counters have not moved since before the given time.
+     */
+    List<String> findStalledJobIds(Instant before);
+
+    /**
+     * Drop recorded item outcomes of jobs that are no longer RUNNING.
+     *
+     * @return number of deleted outcomes
+     */
+    int deleteFinishedItemOutcomes();
+
+    /**
+     * Mark a RUNNING job COMPLETED if fan-out finished and all items are accounted for.
+     *
+     * @return true if this call completed the job
+     */
+    boolean completeIfDrained(String jobId);
 }
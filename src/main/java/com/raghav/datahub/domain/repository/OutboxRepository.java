@@ -0,0 +1,37 @@
+package com.raghav.datahub.domain.repository;
+
+import com.raghav.datahub.domain.model.OutboxMessage;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxRepository {
+
+    /**
+     * Must be called inside the transaction whose changes the message announces.
+     */
+    void append(OutboxMessage message);
+
+    /**
+     * Lock up to limit unsent messages that are due for an attempt, oldest first, skipping
+     * rows locked by other relays and rows that already failed maxAttempts times.
+     * Locks are held until the caller's transaction ends.
+     */
+    List<OutboxMessage> lockUnsentBatch(int limit, int maxAttempts);
+
+    void markSent(List<Long> ids);
+
+    /**
+     * Count a failed attempt; the message is not retried before nextAttemptAt.
+     */
+    void recordFailure(Long id, String error, Instant nextAttemptAt);
+
+    int deleteSentBefore(Instant cutoff);
+
+    /**
+     * Drop the pod's messages that have not been published yet.
+     *
+     * @return number of deleted messages
+     */
+    int deleteUnsentByPodId(String podId);
+}
@@ -0,0 +1,29 @@
+package com.raghav.datahub.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Items written to auto-indexed pods that have not been dispatched for indexing yet.
+ */
+public interface PendingItemChangeRepository {
+
+    /**
+     * Must be called inside the transaction that writes the item.
+     */
+    void append(String podId, String itemId);
+
+    /**
+     * Pods whose pending changes are due: no write since quietBefore, a change waiting
+     * since oldestBefore, or at least maxItems changes.
+     */
+    List<String> findDuePods(Instant quietBefore, Instant oldestBefore, int maxItems, int limit);
+
+    /**
+     * Removes and returns the pod's pending item ids, oldest first and without repeats.
+     * Rows locked by another flush are left to it.
+     */
+    List<String> take(String podId);
+
+    void deleteByPodId(String podId);
+}
@@ -0,0 +1,49 @@
+package com.raghav.datahub.domain.repository;
+
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PodEmbeddingModelRepository {
+
+    PodEmbeddingModel findByPodId(String podId);
+
+    /**
+     * Returns the pod's model row, creating it on first use. A new row records the model
+     * the pod's existing chunks were embedded with, or defaultModel if it has none.
+     */
+    PodEmbeddingModel getOrCreate(String podId, String defaultModel);
+
+    PodEmbeddingModel save(PodEmbeddingModel model);
+
+    List<PodEmbeddingModel> findAll();
+
+    void deleteByPodId(String podId);
+
+    List<String> findMigratingPodIds();
+
+    /**
+     * Takes over a migrating pod whose heartbeat is older than staleBefore (or was never
+     * set), refreshing the heartbeat. The holder keeps it fresh as it saves batches.
+     *
+     * @return false if the pod is no longer migrating or another node holds it
+     */
+    boolean claimMigration(String podId, Instant staleBefore);
+
+    /**
+     * Lock a migrating pod's row for the current transaction, waiting for item workers
+     * that hold it in share mode.
+     *
+     * @return null if the pod is no longer migrating
+     */
+    PodEmbeddingModel lockMigrating(String podId);
+
+    /**
+     * Share-lock the pod's row for the current transaction, so its model cannot switch
+     * until the transaction ends.
+     *
+     * @return the pod's active model, or null if it has no row
+     */
+    String lockActiveModel(String podId);
+}
@@ -2,9 +2,34 @@ package com.raghav.datahub.domain.repository;
 
 import com.raghav.datahub.domain.model.PodIndex;
 
+import java.util.List;
+
+/**
+ * The PodIndex fallback. It records which items it covers; their text is read when the
+ * index is, so item edits need no maintenance and deleted items drop out on their own.
+ */
 public interface PodIndexRepository {
 
-    void save(PodIndex index);
+    /**
+     * Creates the pod's index covering all of its current items, or adds the items an
+     * existing one is missing.
+     *
+     * @return false if the pod does not exist
+     */
+    boolean indexAllItems(String podId);
+
+    /**
+     * Adds the given items of the pod to its index, if it has one.
+     */
+    void addItems(String podId, List<String> itemIds);
+
+    /**
+     * Returns the index with the current content of every covered item, one per line in id
+     * order, leaving out near-duplicates if skipDuplicates is set.
+     *
+     * @return null if the pod has no index
+     */
+    PodIndex findByPodId(String podId, boolean skipDuplicates);
 
-    PodIndex findByPodId(String podId);
+    void deleteByPodId(String podId);
 }
@@ -4,6 +4,7 @@ import com.raghav.datahub.domain.model.DataItem;
 import com.raghav.datahub.domain.model.Pod;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for Pod aggregate.
@@ -20,7 +21,79 @@ public interface PodRepository {
 
     Pod findById(String id);
 
+    boolean existsById(String id);
+
+    /**
+     * Lock the pod row until the current transaction ends.
+     *
+     * @return false if the pod does not exist
+     */
+    boolean lockForUpdate(String id);
+
+    String findOwnerUserId(String id);
+
+    long countItems(String podId);
+
     Collection<Pod> findAll();
 
+    DataItem findItem(String podId, String itemId);
+
+    /**
+     * Share-lock the item's row until the current transaction ends, so it cannot be
+     * updated or deleted meanwhile.
+     *
+     * @return the item, or null if the pod has no such item
+     */
+    DataItem lockItemForShare(String podId, String itemId);
+
+    /**
+     * Replaces the item's content and dedup fields.
+     *
+     * @return false if the pod has no such item
+     */
+    boolean updateItem(String podId, DataItem item);
+
+    /**
+     * @return false if the pod has no such item
+     */
+    boolean deleteItem(String podId, String itemId);
+
+    /**
+     * Removes the pod and its items.
+     *
+     * @return false if the pod does not exist
+     */
+    boolean delete(String podId);
+
+    /**
+     * Items linked to the given canonical item, oldest first.
+     */
+    List<DataItem> findDuplicatesOf(String podId, String canonicalItemId);
+
+    /**
+     * @return the pod's items among the given ids; ids of other pods or removed items are skipped
+     */
+    List<DataItem> findItems(String podId, List<String> itemIds);
+
+    /**
+     * @return false if the pod does not exist
+     */
+    boolean setAutoIndex(String podId, boolean autoIndex);
+
+    /**
+     * @return id of the oldest non-duplicate item of the pod other than excludeItemId whose
+     *         fingerprint is within maxDistance bits of simhash, or null
+     */
+    String findNearDuplicate(String podId, long simhash, int maxDistance, String excludeItemId);
+
+    void updateSimhash(String itemId, long simhash, String canonicalItemId);
+
     void streamItems(String podId, java.util.function.Consumer<DataItem> consumer);
+
+    /**
+     * Streams the pod's items in id order, starting after afterItemId (or from the first item if null).
+     * Reads in short keyset pages rather than one long-lived cursor, so a caller can resume
+     * from the last id it processed.
+     */
+    void streamItemsAfter(String podId, String afterItemId, java.util.function.Consumer<DataItem> consumer);
 }
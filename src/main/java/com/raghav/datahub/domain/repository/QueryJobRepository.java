@@ -0,0 +1,71 @@
+package com.raghav.datahub.domain.repository;
+
+import com.raghav.datahub.domain.model.QueryJob;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface QueryJobRepository {
+
+    QueryJob save(QueryJob job);
+
+    QueryJob findById(String queryId);
+
+    /**
+     * Atomically moves a PENDING job to RUNNING, owned by runId until it finishes or its
+     * heartbeat expires.
+     *
+     * @return false if the job is no longer pending
+     */
+    boolean claim(String queryId, String runId);
+
+    /**
+     * Refreshes the heartbeat of the given runs' jobs.
+     */
+    void heartbeat(List<String> runIds);
+
+    /**
+     * Moves a RUNNING job back to PENDING if its heartbeat is older than leaseCutoff.
+     *
+     * @return false if the job finished or its run heartbeated meanwhile
+     */
+    boolean requeueExpired(String queryId, Instant leaseCutoff);
+
+    /**
+     * @return false if the run no longer owns the job; nothing is written then
+     */
+    boolean markAsCompleted(String queryId, String runId, String answer, String[] usedItemIds, Instant expiresAt);
+
+    /**
+     * The error message is cut to the column width.
+     *
+     * @return false if the run no longer owns the job; nothing is written then
+     */
+    boolean markAsFailed(String queryId, String runId, String errorMessage, Instant expiresAt);
+
+    /**
+     * Fails a job that never ran, e.g. because the queue was full.
+     */
+    void rejectPending(String queryId, String errorMessage, Instant expiresAt);
+
+    /**
+     * Fails the pod's PENDING and RUNNING jobs. Runs still in flight then no longer own
+     * their job and their result is discarded.
+     *
+     * @return number of failed jobs
+     */
+    int failOpenByPodId(String podId, String errorMessage, Instant expiresAt);
+
+    /**
+     * Jobs left PENDING since before pendingCutoff, typically lost from the in-memory queue
+     * of a node that restarted, or RUNNING with a heartbeat older than leaseCutoff.
+     */
+    List<QueryJob> findStale(Instant pendingCutoff, Instant leaseCutoff, int limit);
+
+    /**
+     * Delete jobs whose retention has elapsed.
+     *
+     * @return number of deleted jobs
+     */
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,55 @@
+package com.raghav.datahub.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache for hot lookups: entries expire after a fixed time, and the least
+ * recently used entry is evicted once maxSize is reached.
+ */
+public class ExpiringCache<K, V> {
+
+    private final long ttlMs;
+    private final Map<K, Entry<V>> entries;
+
+    public ExpiringCache(int maxSize, long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, loading it if absent or expired. The loader runs outside the
+     * lock, so concurrent misses may load the same key more than once. Null values are not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now < entry.expiresAt()) {
+                return entry.value();
+            }
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, now + ttlMs));
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
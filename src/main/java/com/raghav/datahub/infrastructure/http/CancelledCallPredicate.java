@@ -0,0 +1,32 @@
+package com.raghav.datahub.infrastructure.http;
+
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+/**
+ * Matches calls abandoned by their caller, such as a hedge that lost its race: its thread
+ * is interrupted, which closes the socket. Registered as the "llm" breakers'
+ * ignoreExceptionPredicate, so these count as neither success nor failure.
+ */
+public class CancelledCallPredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable t) {
+        return isCancellation(t);
+    }
+
+    public static boolean isCancellation(Throwable t) {
+        // Breakers evaluate this on the calling thread, whose interrupt flag is still set
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof CancellationException
+                    || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
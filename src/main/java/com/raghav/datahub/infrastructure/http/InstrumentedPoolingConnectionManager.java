@@ -0,0 +1,54 @@
+package com.raghav.datahub.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connection pool that exports pool utilization (via Micrometer's hc5 binder)
+ * and the time callers spend waiting to lease a connection.
+ */
+public class InstrumentedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer acquireTimer;
+
+    public InstrumentedPoolingConnectionManager(String poolName, MeterRegistry registry) {
+        super();
+        this.acquireTimer = Timer.builder("datahub.http.pool.acquire")
+                .description("Time spent waiting to lease a pooled HTTP connection")
+                .tag("pool", poolName)
+                .register(registry);
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, poolName).bindTo(registry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return delegate.get(timeout);
+                } finally {
+                    acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.raghav.datahub.infrastructure.http;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.Getter;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One LLM/embedding host with its own circuit breaker and load statistics.
+ */
+@Getter
+public class LlmEndpoint {
+
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final String baseUrl;
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile double latencyEwmaMs;
+    private volatile boolean healthy = true;
+
+    public LlmEndpoint(String baseUrl, RestClient restClient, CircuitBreaker circuitBreaker) {
+        this.baseUrl = baseUrl;
+        this.restClient = restClient;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Whether the router may send traffic here: health check passing and breaker not open.
+     */
+    public boolean isAvailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return healthy && state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    synchronized void recordLatency(long millis) {
+        latencyEwmaMs = latencyEwmaMs == 0 ? millis : EWMA_ALPHA * millis + (1 - EWMA_ALPHA) * latencyEwmaMs;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,58 @@
+package com.raghav.datahub.infrastructure.http;
+
+import com.raghav.datahub.config.LlmProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Actively probes every routed endpoint so hosts that are down (or still loading
+ * models) leave the rotation before user traffic hits them.
+ */
+@Slf4j
+@Component
+public class LlmEndpointHealthChecker {
+
+    private static final int PROBE_TIMEOUT_MS = 2000;
+
+    private final List<LlmEndpointRouter> routers;
+    private final LlmProperties props;
+    private final RestClient probeClient;
+
+    public LlmEndpointHealthChecker(List<LlmEndpointRouter> routers, LlmProperties props) {
+        this.routers = routers;
+        this.props = props;
+
+        // Short timeouts, and deliberately outside the pooled clients so probes never queue behind traffic
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(PROBE_TIMEOUT_MS);
+        factory.setReadTimeout(PROBE_TIMEOUT_MS);
+        this.probeClient = RestClient.builder().requestFactory(factory).build();
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.llm.health-check-interval-ms:10000}")
+    public void checkEndpoints() {
+        for (LlmEndpointRouter router : routers) {
+            for (LlmEndpoint endpoint : router.getEndpoints()) {
+                router.markHealth(endpoint, probe(endpoint));
+            }
+        }
+    }
+
+    private boolean probe(LlmEndpoint endpoint) {
+        try {
+            probeClient.get()
+                    .uri(endpoint.getBaseUrl() + props.getHealthCheckPath())
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (Exception e) {
+            log.debug("Health check failed for {}: {}", endpoint.getBaseUrl(), e.getMessage());
+            return false;
+        }
+    }
+}
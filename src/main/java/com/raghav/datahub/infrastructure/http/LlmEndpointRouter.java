@@ -0,0 +1,76 @@
+package com.raghav.datahub.infrastructure.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClient;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Spreads calls for one role (generation or embedding) over several hosts.
+ *
+ * Picks the available endpoint with the fewest outstanding requests, breaking ties
+ * by latency EWMA. Each call runs through the endpoint's own circuit breaker, so a
+ * failing host is taken out of rotation without tripping the others.
+ */
+@Slf4j
+public class LlmEndpointRouter {
+
+    private static final Comparator<LlmEndpoint> LEAST_LOADED = Comparator
+            .comparingInt((LlmEndpoint e) -> e.getOutstanding().get())
+            .thenComparingDouble(LlmEndpoint::getLatencyEwmaMs);
+
+    @Getter
+    private final String role;
+    @Getter
+    private final List<LlmEndpoint> endpoints;
+
+    public LlmEndpointRouter(String role, List<LlmEndpoint> endpoints, MeterRegistry registry) {
+        this.role = role;
+        this.endpoints = List.copyOf(endpoints);
+
+        for (LlmEndpoint endpoint : this.endpoints) {
+            Gauge.builder("datahub.llm.endpoint.outstanding", endpoint, e -> e.getOutstanding().get())
+                    .description("In-flight requests per LLM endpoint")
+                    .tags("role", role, "endpoint", endpoint.getBaseUrl())
+                    .register(registry);
+            Gauge.builder("datahub.llm.endpoint.latency.ewma", endpoint, LlmEndpoint::getLatencyEwmaMs)
+                    .description("Latency EWMA per LLM endpoint in milliseconds")
+                    .tags("role", role, "endpoint", endpoint.getBaseUrl())
+                    .register(registry);
+        }
+    }
+
+    public <T> T execute(Function<RestClient, T> call) {
+        LlmEndpoint endpoint = select();
+        endpoint.getOutstanding().incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = endpoint.getCircuitBreaker().executeSupplier(() -> call.apply(endpoint.getRestClient()));
+            endpoint.recordLatency((System.nanoTime() - start) / 1_000_000);
+            return result;
+        } finally {
+            endpoint.getOutstanding().decrementAndGet();
+        }
+    }
+
+    private LlmEndpoint select() {
+        return endpoints.stream()
+                .filter(LlmEndpoint::isAvailable)
+                .min(LEAST_LOADED)
+                // Nothing available: let the least-loaded breaker reject the call so the
+                // caller's fallback kicks in, and half-open probes still get through.
+                .orElseGet(() -> endpoints.stream().min(LEAST_LOADED).orElseThrow());
+    }
+
+    void markHealth(LlmEndpoint endpoint, boolean healthy) {
+        if (endpoint.isHealthy() != healthy) {
+            log.warn("{} endpoint {} is now {}", role, endpoint.getBaseUrl(), healthy ? "healthy" : "unhealthy");
+        }
+        endpoint.setHealthy(healthy);
+    }
+}
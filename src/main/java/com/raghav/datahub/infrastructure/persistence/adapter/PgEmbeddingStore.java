@@ -0,0 +1,58 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.domain.port.EmbeddingStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The embeddings table: one row per (content hash, model). The column is an unsized vector,
+ * so every model shares the table; rows are only ever looked up by key, never searched.
+ */
+@Component
+@RequiredArgsConstructor
+public class PgEmbeddingStore implements EmbeddingStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, float[]> findAll(String model, Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> args = new ArrayList<>(contentHashes.size() + 1);
+        args.add(model);
+        args.addAll(contentHashes);
+        String placeholders = String.join(", ", Collections.nCopies(contentHashes.size(), "?"));
+
+        Map<String, float[]> found = new HashMap<>();
+        jdbcTemplate.query("SELECT content_hash, embedding::text AS embedding FROM embeddings"
+                        + " WHERE model = ? AND content_hash IN (" + placeholders + ")",
+                rs -> {
+                    found.put(rs.getString("content_hash"), PgVectorStore.parseVector(rs.getString("embedding")));
+                },
+                args.toArray());
+        return found;
+    }
+
+    @Override
+    public void saveAll(String model, Map<String, float[]> embeddings) {
+        if (embeddings.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(embeddings.size());
+        embeddings.forEach((hash, embedding) -> rows.add(new Object[] {
+                hash, model, new SqlParameterValue(Types.OTHER, PgVectorStore.toVectorLiteral(embedding))}));
+        jdbcTemplate.batchUpdate("INSERT INTO embeddings (content_hash, model, embedding) VALUES (?, ?, ?)"
+                + " ON CONFLICT (content_hash, model) DO NOTHING", rows);
+    }
+}
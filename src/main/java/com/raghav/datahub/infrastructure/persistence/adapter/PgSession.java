@@ -0,0 +1,48 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Session-level helpers for the background jobs that work on vector tables over a single
+ * connection (conversion, bulk load, maintenance).
+ */
+final class PgSession {
+
+    private PgSession() {
+    }
+
+    /**
+     * Session advisory lock, so that a job runs on one node at a time.
+     */
+    static boolean tryLock(Connection con, String key) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    static void unlock(Connection con, String key) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+            ps.setString(1, key);
+            ps.execute();
+        }
+    }
+
+    /**
+     * @return null if the index does not exist, false if a concurrent build of it was interrupted
+     */
+    static Boolean indexValid(Connection con, String index) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT i.indisvalid FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?")) {
+            ps.setString(1, index);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+}
@@ -1,36 +1,282 @@
 package com.raghav.datahub.infrastructure.persistence.adapter;
 
+import com.raghav.datahub.domain.model.VectorSearchParams;
 import com.raghav.datahub.domain.port.VectorStore;
 import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
-import com.raghav.datahub.infrastructure.persistence.repository.VectorChunkRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Types;
 import java.util.List;
 
+/**
+ * Vector storage routed by embedding model: each model's chunks live in their own table,
+ * sized to the model's dimension and indexed separately (see VectorTableCatalog).
+ *
+ * Table names come from the catalog, never from callers, so building SQL with them is safe.
+ * Vectors are bound as untyped literals: Postgres resolves them to the column's type, so
+ * the same statements work on vector and halfvec tables, even mid-conversion.
+ *
+ * During a bulk load (see VectorBulkLoader) writes go to the model's staging table, deletes
+ * reach both tables and reads keep using the live table until the staging table is swapped in.
+ */
 @Component
 @RequiredArgsConstructor
 public class PgVectorStore implements VectorStore {
 
-    private final VectorChunkRepository vectorChunkRepository;
+    private static final String COLUMNS =
+            "id, pod_id, data_item_id, chunk_index, content, content_hash, model_version, embedding::text AS embedding";
 
+    private static final RowMapper<VectorChunkEntity> ROW_MAPPER = (rs, i) -> {
+        VectorChunkEntity chunk = new VectorChunkEntity();
+        chunk.setId(rs.getString("id"));
+        chunk.setPodId(rs.getString("pod_id"));
+        chunk.setDataItemId(rs.getString("data_item_id"));
+        chunk.setChunkIndex(rs.getObject("chunk_index", Integer.class));
+        chunk.setContent(rs.getString("content"));
+        chunk.setContentHash(rs.getString("content_hash"));
+        chunk.setModelVersion(rs.getString("model_version"));
+        chunk.setEmbedding(parseVector(rs.getString("embedding")));
+        return chunk;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VectorTableCatalog catalog;
+
+    /**
+     * Upserts on the chunk id, so redelivered item events overwrite instead of duplicating.
+     */
     @Override
     public void saveChunk(VectorChunkEntity chunk) {
-        vectorChunkRepository.save(chunk);
+        VectorTable table = catalog.getOrCreate(chunk.getModelVersion(), chunk.getEmbedding().length);
+        jdbcTemplate.update("INSERT INTO " + writeTable(table)
+                        + " (id, pod_id, data_item_id, chunk_index, content, content_hash, model_version, embedding)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (id) DO UPDATE SET pod_id = EXCLUDED.pod_id, "
+                        + "data_item_id = EXCLUDED.data_item_id, chunk_index = EXCLUDED.chunk_index, "
+                        + "content = EXCLUDED.content, content_hash = EXCLUDED.content_hash, "
+                        + "model_version = EXCLUDED.model_version, embedding = EXCLUDED.embedding",
+                chunk.getId(), chunk.getPodId(), chunk.getDataItemId(), chunk.getChunkIndex(), chunk.getContent(),
+                chunk.getContentHash(), chunk.getModelVersion(), vectorParam(chunk.getEmbedding()));
+    }
+
+    @Override
+    public List<VectorChunkEntity> findSimilar(String model, float[] embedding, int limit) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table.tableName()
+                        + " WHERE model_version = ? ORDER BY embedding <-> ? LIMIT ?",
+                ROW_MAPPER, model, vectorParam(embedding), limit);
+    }
+
+    /**
+     * An exact search reads the pod's chunks through the pod_id index and sorts them; the
+     * materialized CTE keeps the planner from using the HNSW index instead.
+     *
+     * An index search sets the HNSW parameters with set_config(..., true), the bindable form
+     * of SET LOCAL, so they end with the transaction and never leak to the next user of the
+     * pooled connection. A relaxed_order scan may return hits slightly out of order, hence
+     * the outer sort.
+     */
+    @Override
+    public List<VectorChunkEntity> findSimilarByPodId(String podId, String model, float[] embedding, int limit,
+            VectorSearchParams params) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return List.of();
+        }
+        if (params.exact()) {
+            return jdbcTemplate.query("WITH pod AS MATERIALIZED (SELECT * FROM " + table.tableName()
+                            + " WHERE pod_id = ? AND model_version = ?)"
+                            + " SELECT " + COLUMNS + " FROM pod ORDER BY embedding <-> ? LIMIT ?",
+                    ROW_MAPPER, podId, model, vectorParam(embedding), limit);
+        }
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT set_config('hnsw.ef_search', ?, true)", rs -> null,
+                    String.valueOf(params.efSearch()));
+            // Only set when enabled: pgvector before 0.8 rejects the parameters
+            if (!"off".equals(params.iterativeScan())) {
+                jdbcTemplate.query("SELECT set_config('hnsw.iterative_scan', ?, true), "
+                                + "set_config('hnsw.max_scan_tuples', ?, true)", rs -> null,
+                        params.iterativeScan(), String.valueOf(params.maxScanTuples()));
+            }
+            return jdbcTemplate.query("WITH hits AS MATERIALIZED (SELECT *, embedding <-> ? AS distance FROM "
+                            + table.tableName() + " WHERE pod_id = ? AND model_version = ? ORDER BY distance LIMIT ?)"
+                            + " SELECT " + COLUMNS + " FROM hits ORDER BY distance",
+                    ROW_MAPPER, vectorParam(embedding), podId, model, limit);
+        });
+    }
+
+    @Override
+    public List<VectorChunkEntity> findByPodId(String podId, String model) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table.tableName()
+                + " WHERE pod_id = ? AND model_version = ?", ROW_MAPPER, podId, model);
+    }
+
+    @Override
+    public long countByPodId(String podId, String model) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return 0;
+        }
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.tableName()
+                + " WHERE pod_id = ? AND model_version = ?", Long.class, podId, model);
+        return count != null ? count : 0;
     }
 
     @Override
-    public List<VectorChunkEntity> findSimilar(float[] embedding, int limit) {
-        return vectorChunkRepository.findSimilar(embedding, limit);
+    public long estimateCount(String model) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return 0;
+        }
+        // reltuples is -1 for a table that has never been vacuumed or analyzed
+        Long estimate = jdbcTemplate.queryForObject("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class "
+                + "WHERE oid = to_regclass(?)", Long.class, table.tableName());
+        return estimate != null ? estimate : 0;
     }
 
     @Override
-    public List<VectorChunkEntity> findSimilarByPodId(String podId, float[] embedding, int limit) {
-        return vectorChunkRepository.findSimilarByPodId(podId, embedding, limit);
+    public List<VectorChunkEntity> findPendingMigration(String podId, String sourceModel, String targetModel,
+            int limit) {
+        VectorTable source = catalog.find(sourceModel);
+        if (source == null) {
+            return List.of();
+        }
+        VectorTable target = catalog.find(targetModel);
+        if (target == null) {
+            return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + source.tableName()
+                            + " WHERE pod_id = ? AND model_version = ? ORDER BY id LIMIT ?",
+                    ROW_MAPPER, podId, sourceModel, limit);
+        }
+        // A chunk whose content changed after it was migrated no longer matches and is migrated again.
+        // Migrated chunks are written to the target's staging table during a bulk load, so look there.
+        return jdbcTemplate.query("SELECT s.id, s.pod_id, s.data_item_id, s.chunk_index, s.content, s.content_hash,"
+                        + " s.model_version, s.embedding::text AS embedding"
+                        + " FROM " + source.tableName() + " s"
+                        + " LEFT JOIN " + writeTable(target) + " t"
+                        + " ON t.id = s.id AND t.model_version = ? AND t.content IS NOT DISTINCT FROM s.content"
+                        + " WHERE s.pod_id = ? AND s.model_version = ? AND t.id IS NULL"
+                        + " ORDER BY s.id LIMIT ?",
+                ROW_MAPPER, targetModel, podId, sourceModel, limit);
     }
 
     @Override
-    public List<VectorChunkEntity> findByPodId(String podId) {
-        return vectorChunkRepository.findByPodId(podId);
+    public int deleteByPodId(String podId, String model) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String t : tablesOf(table)) {
+            deleted += jdbcTemplate.update("DELETE FROM " + t + " WHERE pod_id = ? AND model_version = ?",
+                    podId, model);
+        }
+        return deleted;
+    }
+
+    private static SqlParameterValue vectorParam(float[] vector) {
+        return new SqlParameterValue(Types.OTHER, toVectorLiteral(vector));
+    }
+
+    @Override
+    public int deleteItemChunksFrom(String podId, String model, String dataItemId, int fromIndex) {
+        VectorTable table = catalog.find(model);
+        if (table == null) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String t : tablesOf(table)) {
+            // Chunks stored before items were split have no index and are always superseded
+            deleted += jdbcTemplate.update("DELETE FROM " + t + " WHERE pod_id = ? AND data_item_id = ?"
+                    + " AND (chunk_index IS NULL OR chunk_index >= ?)", podId, dataItemId, fromIndex);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteItemChunks(String podId, String dataItemId) {
+        int deleted = 0;
+        for (VectorTable table : catalog.findAll()) {
+            for (String t : tablesOf(table)) {
+                deleted += jdbcTemplate.update("DELETE FROM " + t + " WHERE pod_id = ? AND data_item_id = ?",
+                        podId, dataItemId);
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteAllByPodId(String podId) {
+        int deleted = 0;
+        for (VectorTable table : catalog.findAll()) {
+            for (String t : tablesOf(table)) {
+                deleted += jdbcTemplate.update("DELETE FROM " + t + " WHERE pod_id = ?", podId);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * The cached entry may still name a staging table that another node has swapped in
+     * since; the model's current table is used then.
+     */
+    private String writeTable(VectorTable table) {
+        if (table.stagingTable() != null && !exists(table.stagingTable())) {
+            table = catalog.reload(table.model());
+        }
+        return table.writeTable();
+    }
+
+    /**
+     * Tables a delete must reach: during a bulk load the live and the staging table.
+     */
+    private List<String> tablesOf(VectorTable table) {
+        if (table.stagingTable() == null || !exists(table.stagingTable())) {
+            return List.of(table.tableName());
+        }
+        return List.of(table.tableName(), table.stagingTable());
+    }
+
+    /**
+     * Checked up front rather than by catching the error, which would abort the caller's transaction.
+     */
+    private boolean exists(String tableName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+                Boolean.class, tableName));
+    }
+
+    static String toVectorLiteral(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 10).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    static float[] parseVector(String text) {
+        if (text == null || text.length() <= 2) {
+            return new float[0];
+        }
+        String[] parts = text.substring(1, text.length() - 1).split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i].strip());
+        }
+        return vector;
     }
 }
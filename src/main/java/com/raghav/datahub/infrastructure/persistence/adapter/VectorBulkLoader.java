@@ -0,0 +1,222 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.config.VectorProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Loads a large batch of vectors into a model's table without maintaining its HNSW index
+ * row by row.
+ *
+ * <ol>
+ * <li>{@link #start} creates an unindexed staging table, and all writes for the model go
+ * there (LOADING). Reads keep using the live table.</li>
+ * <li>{@link #finish} marks the load complete (BUILDING).</li>
+ * <li>On the scheduler, live rows missing from the staging table are copied over and the
+ * indexes are built once, in parallel and with a large maintenance_work_mem. Writes keep
+ * flowing into the staging table meanwhile.</li>
+ * <li>One short transaction drops the live table and renames the staging table and its
+ * indexes into place.</li>
+ * </ol>
+ *
+ * Steps 3-4 pick up where they left off after a restart. A session advisory lock keeps each
+ * table on one node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VectorBulkLoader {
+
+    private static final String LOCK_PREFIX = "bulk:";
+    private static final String LOADING = "LOADING";
+    private static final String BUILDING = "BUILDING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VectorTableCatalog catalog;
+    private final VectorProperties vectorProperties;
+
+    /**
+     * Routes the model's writes to a new staging table. A table that is already loading is
+     * returned unchanged, as is one being converted to HALF precision.
+     *
+     * @return the table, or null if the model has no table
+     */
+    public VectorTable start(String model) {
+        VectorTable table = catalog.reload(model);
+        if (table == null || table.converting() || table.stagingTable() != null) {
+            return table;
+        }
+        String t = table.tableName();
+        String staging = t + "_stg";
+        boolean started = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // Serializes against a concurrent start on another node; released on commit
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> null, LOCK_PREFIX + t);
+            // The catalog read above may predate a load or conversion started meanwhile
+            Boolean free = jdbcTemplate.query("SELECT staging_table IS NULL AND conversion_status IS NULL "
+                    + "FROM embedding_models WHERE model = ? FOR UPDATE",
+                    rs -> rs.next() ? rs.getBoolean(1) : null, model);
+            if (!Boolean.TRUE.equals(free)) {
+                return false;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE " + t + " INCLUDING DEFAULTS)");
+            jdbcTemplate.execute("ALTER TABLE " + staging + " ADD CONSTRAINT " + staging + "_pkey PRIMARY KEY (id)");
+            jdbcTemplate.update("UPDATE embedding_models SET staging_table = ?, bulk_status = ? WHERE model = ?",
+                    staging, LOADING, model);
+            return true;
+        }));
+        if (started) {
+            log.info("Started bulk load of {} into {}", t, staging);
+        }
+        return catalog.reload(model);
+    }
+
+    /**
+     * Marks the load complete; the indexes are built and the table swapped on the scheduler.
+     *
+     * @return the table, or null if the model has no table
+     */
+    public VectorTable finish(String model) {
+        VectorTable table = catalog.reload(model);
+        if (table == null || !LOADING.equals(table.bulkStatus())) {
+            return table;
+        }
+        jdbcTemplate.update("UPDATE embedding_models SET bulk_status = ? WHERE model = ? AND bulk_status = ?",
+                BUILDING, model, LOADING);
+        return catalog.reload(model);
+    }
+
+    /**
+     * Rows written to the staging table so far.
+     */
+    public long stagedRows(VectorTable table) {
+        if (table.stagingTable() == null) {
+            return 0;
+        }
+        Long staged = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.stagingTable(), Long.class);
+        return staged != null ? staged : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.vector.bulk-load.poll-interval-ms:5000}")
+    public void buildPending() {
+        for (VectorTable table : catalog.findAll()) {
+            if (!BUILDING.equals(table.bulkStatus())) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                    if (PgSession.tryLock(con, LOCK_PREFIX + table.tableName())) {
+                        try {
+                            build(con, table);
+                        } finally {
+                            PgSession.unlock(con, LOCK_PREFIX + table.tableName());
+                        }
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                // Typically the swap timing out behind a long query; retried on the next tick
+                log.warn("Bulk load of {} interrupted: {}", table.tableName(), e.getMessage());
+            }
+        }
+    }
+
+    private void build(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        String staging = table.stagingTable();
+
+        // Rows written to the live table before the load started, or by a node that had not
+        // yet seen it. Both tables share a column order, so rows copy across as they are.
+        try (Statement st = con.createStatement()) {
+            int copied = st.executeUpdate("INSERT INTO " + staging + " SELECT * FROM " + t + " l"
+                    + " WHERE NOT EXISTS (SELECT 1 FROM " + staging + " s WHERE s.id = l.id)");
+            if (copied > 0) {
+                log.info("Copied {} rows of {} into {}", copied, t, staging);
+            }
+        }
+
+        VectorProperties.BulkLoad props = vectorProperties.getBulkLoad();
+        try (PreparedStatement ps = con.prepareStatement("SELECT set_config('maintenance_work_mem', ?, false), "
+                + "set_config('max_parallel_maintenance_workers', ?, false)")) {
+            ps.setString(1, props.getMaintenanceWorkMem());
+            ps.setString(2, String.valueOf(props.getParallelWorkers()));
+            ps.execute();
+        }
+        try {
+            buildIndex(con, staging + "_pid", VectorTableCatalog.podIdIndex(staging));
+            buildIndex(con, staging + "_pitem", VectorTableCatalog.podItemIndex(staging));
+            buildIndex(con, staging + "_emb", VectorTableCatalog.embeddingIndex(staging, "embedding", table.precision()));
+        } finally {
+            try (Statement st = con.createStatement()) {
+                st.execute("RESET maintenance_work_mem");
+                st.execute("RESET max_parallel_maintenance_workers");
+            }
+        }
+        try (Statement st = con.createStatement()) {
+            st.execute("ANALYZE " + staging);
+        }
+
+        swap(con, table);
+    }
+
+    private static void buildIndex(Connection con, String index, String definition) throws SQLException {
+        Boolean valid = PgSession.indexValid(con, index);
+        try (Statement st = con.createStatement()) {
+            if (Boolean.FALSE.equals(valid)) {
+                // Left behind by an interrupted concurrent build
+                st.execute("DROP INDEX CONCURRENTLY " + index);
+            }
+            if (!Boolean.TRUE.equals(valid)) {
+                log.info("Building index {}", index);
+                st.execute("CREATE INDEX CONCURRENTLY " + index + " " + definition);
+            }
+        }
+    }
+
+    /**
+     * The staging table already holds every row and index, so the swap only touches the
+     * catalog and takes the exclusive locks for milliseconds.
+     */
+    private void swap(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        String staging = table.stagingTable();
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement()) {
+            // Give up rather than queue every query behind us while a long one finishes
+            st.execute("SET LOCAL lock_timeout = '5s'");
+            st.execute("LOCK TABLE " + t + ", " + staging + " IN ACCESS EXCLUSIVE MODE");
+            // Rows written to the live table since the copy, by a node with a stale catalog
+            st.executeUpdate("INSERT INTO " + staging + " SELECT * FROM " + t + " l"
+                    + " WHERE NOT EXISTS (SELECT 1 FROM " + staging + " s WHERE s.id = l.id)");
+            st.execute("DROP TABLE " + t);
+            st.execute("ALTER TABLE " + staging + " RENAME TO " + t);
+            st.execute("ALTER TABLE " + t + " RENAME CONSTRAINT " + staging + "_pkey TO " + t + "_pkey");
+            st.execute("ALTER INDEX " + staging + "_pid RENAME TO " + t + "_pod_id_id");
+            st.execute("ALTER INDEX " + staging + "_pitem RENAME TO " + t + "_pod_id_item");
+            st.execute("ALTER INDEX " + staging + "_emb RENAME TO " + t + "_embedding");
+            try (PreparedStatement ps = con.prepareStatement("UPDATE embedding_models SET staging_table = NULL, "
+                    + "bulk_status = NULL WHERE model = ?")) {
+                ps.setString(1, table.model());
+                ps.executeUpdate();
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+        catalog.reload(table.model());
+        log.info("Swapped bulk-loaded {} into place", t);
+    }
+}
@@ -0,0 +1,271 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.config.VectorProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Converts a vector table from FULL to HALF precision while it stays online.
+ *
+ * <ol>
+ * <li>A halfvec shadow column is added, and a trigger keeps it in sync with every write.</li>
+ * <li>Existing rows are back-filled in small batches.</li>
+ * <li>An HNSW index is built on the shadow column without blocking writes.</li>
+ * <li>One short transaction drops the old column and its index and renames the shadow
+ * column into place.</li>
+ * <li>Dropping a column only hides it: every row still carries its full-precision vector,
+ * and the back-fill left a dead version of each row behind. All rows are therefore rewritten
+ * in id order (COMPACTING), with a VACUUM every few batches so the new versions reuse the
+ * space freed by the old ones instead of growing the table.</li>
+ * </ol>
+ *
+ * Steps 2-5 run on the scheduler and pick up where they left off after a restart. A session
+ * advisory lock keeps each table on one node. The compaction stops the table from growing
+ * but does not shrink its file; returning that space to the operating system takes
+ * pg_repack (or VACUUM FULL during a maintenance window).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VectorPrecisionConverter {
+
+    private static final String SHADOW_COLUMN = "embedding_half";
+    private static final String LOCK_PREFIX = "precision:";
+    private static final String CONVERTING = "CONVERTING";
+    private static final String COMPACTING = "COMPACTING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VectorTableCatalog catalog;
+    private final VectorProperties vectorProperties;
+
+    /**
+     * A table in the middle of a bulk load is returned unchanged.
+     *
+     * @return the table, or null if the model has no table
+     */
+    public VectorTable startConversion(String model) {
+        VectorTable table = catalog.reload(model);
+        if (table == null || table.precision() == VectorProperties.Precision.HALF || table.converting()
+                || table.stagingTable() != null) {
+            return table;
+        }
+        String t = table.tableName();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS " + SHADOW_COLUMN
+                    + " halfvec(" + table.dimensions() + ")");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + t + "_sync_half ON " + t);
+            jdbcTemplate.execute("CREATE TRIGGER " + t + "_sync_half BEFORE INSERT OR UPDATE OF embedding ON " + t
+                    + " FOR EACH ROW EXECUTE FUNCTION sync_embedding_half()");
+            jdbcTemplate.update("UPDATE embedding_models SET conversion_status = ? WHERE model = ?", CONVERTING, model);
+        });
+        log.info("Started converting {} to HALF precision", t);
+        return catalog.reload(model);
+    }
+
+    /**
+     * Rows of a converting table that have not been back-filled, or of a compacting table
+     * that have not been rewritten yet.
+     */
+    public long pendingRows(VectorTable table) {
+        Long pending;
+        if (CONVERTING.equals(table.conversionStatus())) {
+            pending = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.tableName()
+                    + " WHERE " + SHADOW_COLUMN + " IS NULL AND embedding IS NOT NULL", Long.class);
+        } else if (COMPACTING.equals(table.conversionStatus())) {
+            pending = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.tableName()
+                    + " WHERE id > COALESCE((SELECT compacted_through FROM embedding_models WHERE model = ?), '')",
+                    Long.class, table.model());
+        } else {
+            return 0;
+        }
+        return pending != null ? pending : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.vector.conversion.poll-interval-ms:5000}")
+    public void convertPending() {
+        for (VectorTable table : catalog.findAll()) {
+            if (!table.converting()) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                    if (PgSession.tryLock(con, LOCK_PREFIX + table.tableName())) {
+                        try {
+                            if (COMPACTING.equals(table.conversionStatus())) {
+                                compact(con, table);
+                            } else {
+                                convert(con, table);
+                            }
+                        } finally {
+                            PgSession.unlock(con, LOCK_PREFIX + table.tableName());
+                        }
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                // Typically the swap timing out behind a long query; retried on the next tick
+                log.warn("Converting {} to HALF precision interrupted: {}", table.tableName(), e.getMessage());
+            }
+        }
+    }
+
+    private void convert(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        VectorProperties.Conversion props = vectorProperties.getConversion();
+
+        long converted = 0;
+        int updated;
+        do {
+            try (PreparedStatement ps = con.prepareStatement("UPDATE " + t + " SET " + SHADOW_COLUMN
+                    + " = embedding::halfvec WHERE id IN (SELECT id FROM " + t + " WHERE " + SHADOW_COLUMN
+                    + " IS NULL AND embedding IS NOT NULL LIMIT ? FOR UPDATE SKIP LOCKED)")) {
+                ps.setInt(1, props.getBatchSize());
+                updated = ps.executeUpdate();
+            }
+            converted += updated;
+            if (updated > 0) {
+                pause(props.getPauseMs());
+            }
+        } while (updated > 0);
+        if (converted > 0) {
+            log.info("Back-filled {} rows of {}", converted, t);
+        }
+
+        String index = t + "_" + SHADOW_COLUMN;
+        Boolean valid = PgSession.indexValid(con, index);
+        try (Statement st = con.createStatement()) {
+            if (Boolean.FALSE.equals(valid)) {
+                // Left behind by an interrupted concurrent build
+                st.execute("DROP INDEX CONCURRENTLY " + index);
+            }
+            if (!Boolean.TRUE.equals(valid)) {
+                log.info("Building HNSW index {}", index);
+                st.execute("CREATE INDEX CONCURRENTLY " + index + " "
+                        + VectorTableCatalog.embeddingIndex(t, SHADOW_COLUMN, VectorProperties.Precision.HALF));
+            }
+        }
+
+        swap(con, table, index);
+        compact(con, table);
+    }
+
+    /**
+     * Every write since the trigger was created has filled the shadow column, so the swap
+     * only touches the catalog and takes the exclusive lock for milliseconds.
+     */
+    private void swap(Connection con, VectorTable table, String index) throws SQLException {
+        String t = table.tableName();
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement()) {
+            // Give up rather than queue every query behind us while a long one finishes
+            st.execute("SET LOCAL lock_timeout = '5s'");
+            st.execute("LOCK TABLE " + t + " IN ACCESS EXCLUSIVE MODE");
+            st.execute("DROP TRIGGER " + t + "_sync_half ON " + t);
+            st.execute("ALTER TABLE " + t + " DROP COLUMN embedding");
+            st.execute("ALTER TABLE " + t + " RENAME COLUMN " + SHADOW_COLUMN + " TO embedding");
+            st.execute("ALTER INDEX " + index + " RENAME TO " + t + "_embedding");
+            try (PreparedStatement ps = con.prepareStatement("UPDATE embedding_models SET storage_precision = 'HALF', "
+                    + "conversion_status = ?, compacted_through = NULL WHERE model = ?")) {
+                ps.setString(1, COMPACTING);
+                ps.setString(2, table.model());
+                ps.executeUpdate();
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+        catalog.reload(table.model());
+        log.info("Converted {} to HALF precision, compacting", t);
+    }
+
+    /**
+     * Rewrites every row once. A new row version no longer holds the dropped column, and
+     * VACUUM frees the old versions (and their TOASTed vectors) for the next batches to reuse.
+     */
+    private void compact(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        VectorProperties.Conversion props = vectorProperties.getConversion();
+        String after;
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT COALESCE(compacted_through, '') FROM embedding_models WHERE model = ?")) {
+            ps.setString(1, table.model());
+            try (ResultSet rs = ps.executeQuery()) {
+                after = rs.next() ? rs.getString(1) : "";
+            }
+        }
+
+        long rewritten = 0;
+        int batches = 0;
+        while (true) {
+            String last;
+            int updated;
+            // max() compares ids with the column's collation, like the id > ? that resumes from it
+            try (PreparedStatement ps = con.prepareStatement("WITH b AS (SELECT id FROM " + t
+                    + " WHERE id > ? ORDER BY id LIMIT ?), u AS (UPDATE " + t + " SET embedding = embedding"
+                    + " FROM b WHERE " + t + ".id = b.id RETURNING " + t + ".id) SELECT count(*), max(id) FROM u")) {
+                ps.setString(1, after);
+                ps.setInt(2, props.getBatchSize());
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    updated = rs.getInt(1);
+                    last = rs.getString(2);
+                }
+            }
+            if (updated == 0) {
+                break;
+            }
+            after = last;
+            rewritten += updated;
+            try (PreparedStatement ps = con.prepareStatement(
+                    "UPDATE embedding_models SET compacted_through = ? WHERE model = ?")) {
+                ps.setString(1, after);
+                ps.setString(2, table.model());
+                ps.executeUpdate();
+            }
+            if (++batches % Math.max(1, props.getVacuumEveryBatches()) == 0) {
+                vacuum(con, t);
+            }
+            pause(props.getPauseMs());
+        }
+        vacuum(con, t);
+
+        try (PreparedStatement ps = con.prepareStatement("UPDATE embedding_models SET conversion_status = NULL, "
+                + "compacted_through = NULL WHERE model = ? AND conversion_status = ?")) {
+            ps.setString(1, table.model());
+            ps.setString(2, COMPACTING);
+            ps.executeUpdate();
+        }
+        catalog.reload(table.model());
+        log.info("Compacted {} after HALF conversion ({} rows rewritten)", t, rewritten);
+    }
+
+    private static void vacuum(Connection con, String table) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("VACUUM " + table);
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting vectors", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.config.VectorProperties;
+
+/**
+ * The table holding one embedding model's vectors.
+ *
+ * @param conversionStatus CONVERTING or COMPACTING while the table is being converted to HALF
+ *                         precision (see VectorPrecisionConverter), otherwise null
+ * @param stagingTable     unindexed table receiving writes during a bulk load, or null
+ * @param bulkStatus       LOADING or BUILDING during a bulk load (see VectorBulkLoader), otherwise null
+ */
+public record VectorTable(String model, int dimensions, String tableName, VectorProperties.Precision precision,
+        String conversionStatus, String stagingTable, String bulkStatus) {
+
+    public boolean converting() {
+        return conversionStatus != null;
+    }
+
+    /**
+     * Table new chunks are written to.
+     */
+    public String writeTable() {
+        return stagingTable != null ? stagingTable : tableName;
+    }
+}
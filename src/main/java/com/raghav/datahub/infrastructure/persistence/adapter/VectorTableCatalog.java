@@ -0,0 +1,199 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.config.VectorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Maps embedding models to their vector tables, creating a table with its own dimension
+ * and HNSW index the first time a model stores a vector.
+ *
+ * Models never change dimension, so entries are cached. The cached precision may lag a
+ * conversion done by another node; reads and writes do not depend on it (see PgVectorStore).
+ * Writes do depend on the staging table of a bulk load, so the cache is refreshed every
+ * few seconds to pick up bulk loads started or finished elsewhere.
+ */
+@Slf4j
+@Component
+public class VectorTableCatalog {
+
+    private static final String TABLE_PREFIX = "vector_chunks_";
+    private static final int MAX_SLUG_LENGTH = 24;
+
+    /**
+     * HNSW build parameters of every embedding index, so indexes rebuilt by a bulk load or
+     * a precision conversion match the ones created with the table.
+     */
+    private static final String HNSW_OPTIONS = "WITH (m = 16, ef_construction = 64)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VectorProperties vectorProperties;
+
+    private final Map<String, VectorTable> tables = new ConcurrentHashMap<>();
+
+    public VectorTableCatalog(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            VectorProperties vectorProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Tables are created in their own transaction, so they are committed before being
+        // cached even when the first write for a model runs inside a caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.vectorProperties = vectorProperties;
+    }
+
+    /**
+     * @return the model's table, or null if the model has not stored any vectors yet
+     */
+    public VectorTable find(String model) {
+        VectorTable table = tables.get(model);
+        if (table != null) {
+            return table;
+        }
+        table = load(model);
+        if (table != null) {
+            tables.put(model, table);
+        }
+        return table;
+    }
+
+    /**
+     * All tables, read from the database rather than the cache.
+     */
+    public List<VectorTable> findAll() {
+        return jdbcTemplate.query("SELECT model, dimensions, table_name, storage_precision, conversion_status, "
+                + "staging_table, bulk_status FROM embedding_models ORDER BY model", (rs, i) -> map(rs));
+    }
+
+    /**
+     * On-disk size of the table (heap and TOAST) and of all its indexes, in bytes.
+     */
+    public long[] sizes(VectorTable table) {
+        return jdbcTemplate.queryForObject("SELECT pg_table_size(CAST(? AS regclass)), "
+                        + "pg_indexes_size(CAST(? AS regclass))",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) },
+                table.tableName(), table.tableName());
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.vector.bulk-load.catalog-refresh-ms:5000}")
+    public void refresh() {
+        tables.clear();
+    }
+
+    public VectorTable reload(String model) {
+        tables.remove(model);
+        return find(model);
+    }
+
+    /**
+     * Returns the model's table, creating it on first use.
+     *
+     * @throws IllegalArgumentException if the model is registered with another dimension
+     */
+    public VectorTable getOrCreate(String model, int dimensions) {
+        VectorTable table = find(model);
+        if (table == null) {
+            table = transactionTemplate.execute(status -> create(model, dimensions));
+            tables.put(model, table);
+        }
+        if (table.dimensions() != dimensions) {
+            throw new IllegalArgumentException("Model " + model + " stores " + table.dimensions()
+                    + "-dimensional vectors, got " + dimensions);
+        }
+        return table;
+    }
+
+    /**
+     * Index definitions (everything after the index name) of a vector table's indexes.
+     */
+    static String podIdIndex(String tableName) {
+        return "ON " + tableName + " (pod_id, id)";
+    }
+
+    static String podItemIndex(String tableName) {
+        return "ON " + tableName + " (pod_id, data_item_id)";
+    }
+
+    static String embeddingIndex(String tableName, String column, VectorProperties.Precision precision) {
+        return "ON " + tableName + " USING hnsw (" + column + " " + precision.opsClass() + ") " + HNSW_OPTIONS;
+    }
+
+    private VectorTable create(String model, int dimensions) {
+        // Serializes creation per model across nodes; released on commit
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> null, model);
+        VectorTable existing = load(model);
+        if (existing != null) {
+            return existing;
+        }
+
+        String tableName = tableName(model);
+        VectorProperties.Precision precision = vectorProperties.getPrecision();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "id VARCHAR(255) PRIMARY KEY, "
+                + "pod_id VARCHAR(255) NOT NULL, "
+                + "data_item_id VARCHAR(255), "
+                + "chunk_index INT, "
+                + "content TEXT, "
+                + "content_hash VARCHAR(64), "
+                + "model_version VARCHAR(100) NOT NULL, "
+                + "embedding " + precision.columnType() + "(" + dimensions + "))");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + tableName + "_pod_id_id "
+                + podIdIndex(tableName));
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + tableName + "_pod_id_item "
+                + podItemIndex(tableName));
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + tableName + "_embedding "
+                + embeddingIndex(tableName, "embedding", precision));
+        jdbcTemplate.update("INSERT INTO embedding_models (model, dimensions, table_name, storage_precision) "
+                + "VALUES (?, ?, ?, ?)", model, dimensions, tableName, precision.name());
+
+        log.info("Created vector table {} for model {} ({} dimensions, {} precision)",
+                tableName, model, dimensions, precision);
+        return new VectorTable(model, dimensions, tableName, precision, null, null, null);
+    }
+
+    private VectorTable load(String model) {
+        List<VectorTable> rows = jdbcTemplate.query("SELECT model, dimensions, table_name, storage_precision, "
+                + "conversion_status, staging_table, bulk_status FROM embedding_models WHERE model = ?",
+                (rs, i) -> map(rs), model);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    private static VectorTable map(ResultSet rs) throws SQLException {
+        return new VectorTable(
+                rs.getString("model"),
+                rs.getInt("dimensions"),
+                rs.getString("table_name"),
+                VectorProperties.Precision.valueOf(rs.getString("storage_precision")),
+                rs.getString("conversion_status"),
+                rs.getString("staging_table"),
+                rs.getString("bulk_status"));
+    }
+
+    /**
+     * A readable identifier for the model, with a checksum so that models differing only in
+     * punctuation (nomic-embed-text vs nomic_embed_text) get different tables.
+     */
+    static String tableName(String model) {
+        String slug = model.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+        if (slug.length() > MAX_SLUG_LENGTH) {
+            slug = slug.substring(0, MAX_SLUG_LENGTH);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(model.getBytes(StandardCharsets.UTF_8));
+        return TABLE_PREFIX + slug + "_" + String.format("%08x", crc.getValue());
+    }
+}
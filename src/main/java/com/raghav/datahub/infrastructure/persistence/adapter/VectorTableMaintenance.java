@@ -0,0 +1,109 @@
+package com.raghav.datahub.infrastructure.persistence.adapter;
+
+import com.raghav.datahub.config.VectorProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps vector tables compact after deletes.
+ *
+ * <ol>
+ * <li>Chunks whose item no longer exists are deleted in batches. They are left behind when
+ * an item event is processed after its item was deleted.</li>
+ * <li>Tables with enough dead rows are vacuumed. For HNSW indexes this also repairs the
+ * graph around deleted vectors and makes their slots reusable, which autovacuum may
+ * otherwise postpone for a long time on large tables.</li>
+ * </ol>
+ *
+ * A session advisory lock keeps each table on one node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VectorTableMaintenance {
+
+    private static final String LOCK_PREFIX = "maintenance:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VectorTableCatalog catalog;
+    private final VectorProperties vectorProperties;
+
+    @Scheduled(fixedDelayString = "${datahub.vector.maintenance.interval-ms:300000}")
+    public void maintain() {
+        if (!vectorProperties.getMaintenance().isEnabled()) {
+            return;
+        }
+        for (VectorTable table : catalog.findAll()) {
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                    if (PgSession.tryLock(con, LOCK_PREFIX + table.tableName())) {
+                        try {
+                            sweepOrphans(con, table);
+                            vacuumIfNeeded(con, table);
+                        } finally {
+                            PgSession.unlock(con, LOCK_PREFIX + table.tableName());
+                        }
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Maintenance of {} failed: {}", table.tableName(), e.getMessage());
+            }
+        }
+    }
+
+    private void sweepOrphans(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        int batchSize = vectorProperties.getMaintenance().getSweepBatchSize();
+        long swept = 0;
+        int deleted;
+        do {
+            try (PreparedStatement ps = con.prepareStatement("DELETE FROM " + t + " WHERE id IN (SELECT c.id FROM "
+                    + t + " c WHERE c.data_item_id IS NOT NULL AND NOT EXISTS "
+                    + "(SELECT 1 FROM data_items d WHERE d.id = c.data_item_id) LIMIT ?)")) {
+                ps.setInt(1, batchSize);
+                deleted = ps.executeUpdate();
+            }
+            swept += deleted;
+        } while (deleted == batchSize);
+        if (swept > 0) {
+            log.info("Deleted {} orphaned chunks from {}", swept, t);
+        }
+    }
+
+    private void vacuumIfNeeded(Connection con, VectorTable table) throws SQLException {
+        String t = table.tableName();
+        long live;
+        long dead;
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT n_live_tup, n_dead_tup FROM pg_stat_user_tables WHERE relname = ?")) {
+            ps.setString(1, t);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return;
+                }
+                live = rs.getLong(1);
+                dead = rs.getLong(2);
+            }
+        }
+        VectorProperties.Maintenance props = vectorProperties.getMaintenance();
+        if (dead < props.getMinDeadTuples() || dead < props.getDeadTupleRatio() * (live + dead)) {
+            return;
+        }
+        log.info("Vacuuming {} ({} dead of {} rows)", t, dead, live + dead);
+        // Runs outside a transaction: the connection is in auto-commit mode here
+        try (Statement st = con.createStatement()) {
+            st.execute("VACUUM (ANALYZE) " + t);
+        }
+    }
+}
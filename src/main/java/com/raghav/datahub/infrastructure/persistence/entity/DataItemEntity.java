@@ -28,4 +28,10 @@ public class DataItemEntity {
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
+
+    @Column(name = "simhash")
+    private Long simhash;
+
+    @Column(name = "canonical_item_id")
+    private String canonicalItemId;
 }
@@ -0,0 +1,65 @@
+package com.raghav.datahub.infrastructure.persistence.entity;
+
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "dead_letters")
+@Getter
+@Setter
+@ToString(exclude = "payload")
+public class DeadLetterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "source_topic", nullable = false)
+    private String sourceTopic;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "pod_id")
+    private String podId;
+
+    @Column(name = "job_id")
+    private String jobId;
+
+    @Column(name = "data_item_id")
+    private String dataItemId;
+
+    @Column(name = "error_class")
+    private String errorClass;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    private DeadLetterStatus status;
+
+    @Column(name = "replayed_at")
+    private Instant replayedAt;
+
+    @Column(name = "dlq_partition")
+    private Integer dlqPartition;
+
+    @Column(name = "dlq_offset")
+    private Long dlqOffset;
+}
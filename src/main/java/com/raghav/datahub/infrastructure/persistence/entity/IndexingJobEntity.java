@@ -38,6 +38,30 @@ public class IndexingJobEntity {
     @Column(name = "error_message", length = 2000)
     private String errorMessage;
 
+    @Column(name = "expected_items")
+    private Long expectedItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @Column(name = "failed_items", nullable = false)
+    private long failedItems;
+
+    @Column(name = "fanned_out_at")
+    private Instant fannedOutAt;
+
+    @Column(name = "checkpoint_item_id")
+    private String checkpointItemId;
+
+    @Column(name = "checkpoint_count", nullable = false)
+    private long checkpointCount;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    @Column(name = "progress_at")
+    private Instant progressAt;
+
     @Version
     @Column(name = "version")
     private Long version;
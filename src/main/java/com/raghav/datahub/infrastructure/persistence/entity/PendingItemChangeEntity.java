@@ -0,0 +1,30 @@
+package com.raghav.datahub.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "pending_item_changes")
+@Getter
+@Setter
+@ToString
+public class PendingItemChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "pod_id", nullable = false)
+    private String podId;
+
+    @Column(name = "item_id", nullable = false)
+    private String itemId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
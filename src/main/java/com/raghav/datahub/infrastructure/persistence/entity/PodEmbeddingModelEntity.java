@@ -0,0 +1,49 @@
+package com.raghav.datahub.infrastructure.persistence.entity;
+
+import com.raghav.datahub.domain.model.MigrationStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "pod_embedding_models")
+@Getter
+@Setter
+@ToString
+public class PodEmbeddingModelEntity {
+
+    @Id
+    @Column(name = "pod_id", nullable = false, updatable = false)
+    private String podId;
+
+    @Column(name = "active_model", nullable = false, length = 100)
+    private String activeModel;
+
+    @Column(name = "target_model", length = 100)
+    private String targetModel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "migration_status", length = 32)
+    private MigrationStatus migrationStatus;
+
+    @Column(name = "total_items", nullable = false)
+    private long totalItems;
+
+    @Column(name = "migrated_items", nullable = false)
+    private long migratedItems;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+}
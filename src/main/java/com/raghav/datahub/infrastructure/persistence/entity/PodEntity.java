@@ -25,6 +25,9 @@ public class PodEntity {
     @Column(name = "owner_user_id", nullable = false, length = 100)
     private String ownerUserId;
 
+    @Column(name = "auto_index", nullable = false)
+    private boolean autoIndex;
+
     @Version
     @Column(name = "version")
     private Long version;
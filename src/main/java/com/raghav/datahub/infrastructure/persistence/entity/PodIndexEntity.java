@@ -18,10 +18,6 @@ public class PodIndexEntity {
     @Column(name = "pod_id", nullable = false, updatable = false)
     private String podId;
 
-
-    @Column(name = "combined_text", nullable = false, columnDefinition = "TEXT")
-    private String combinedText;
-
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 }
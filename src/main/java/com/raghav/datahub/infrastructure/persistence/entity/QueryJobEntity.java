@@ -0,0 +1,64 @@
+package com.raghav.datahub.infrastructure.persistence.entity;
+
+import com.raghav.datahub.domain.model.JobStatus;
+import com.raghav.datahub.domain.model.SearchRecall;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "query_jobs")
+@Getter
+@Setter
+@ToString
+public class QueryJobEntity {
+
+    @Id
+    @Column(name = "query_id", nullable = false, updatable = false)
+    private String queryId;
+
+    @Column(name = "pod_id", nullable = false)
+    private String podId;
+
+    @Column(name = "question", nullable = false, columnDefinition = "TEXT")
+    private String question;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    private JobStatus status;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "answer", columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String answer;
+
+    @Column(name = "used_item_ids", columnDefinition = "TEXT[]")
+    private String[] usedItemIds;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recall", length = 16)
+    private SearchRecall recall;
+
+    @Column(name = "run_id", length = 36)
+    private String runId;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+}
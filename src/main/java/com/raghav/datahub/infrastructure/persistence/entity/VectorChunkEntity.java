@@ -1,38 +1,44 @@
 package com.raghav.datahub.infrastructure.persistence.entity;
 
-import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.Array;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
 
-@Entity
-@Table(name = "vector_chunks")
+/**
+ * A stored chunk and its vector. Not a JPA entity: chunks live in per-model tables whose
+ * dimension and precision vary (see VectorTableCatalog), so PgVectorStore maps them by hand.
+ */
 @Getter
 @Setter
 public class VectorChunkEntity {
 
-    @Id
     private String id;
 
-    @Column(name = "pod_id", nullable = false)
     private String podId;
 
-    @Column(columnDefinition = "TEXT")
+    /**
+     * Item the chunk was cut from; null for chunks stored before items were split.
+     */
+    private String dataItemId;
+
+    /**
+     * Position of the chunk within its item.
+     */
+    private Integer chunkIndex;
+
     private String content;
 
-    @Column(name = "embedding")
-    @JdbcTypeCode(SqlTypes.VECTOR)
-    @Array(length = 768)
+    /**
+     * SHA-256 of the content: key of the shared embedding this chunk's vector was copied from.
+     */
+    private String contentHash;
+
     private float[] embedding;
 
-    @Column(name = "model_version", nullable = false)
     private String modelVersion;
 
     public VectorChunkEntity() {
         this.id = UUID.randomUUID().toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.raghav.datahub.infrastructure.persistence.mapper;
+
+import com.raghav.datahub.domain.model.DeadLetter;
+import com.raghav.datahub.infrastructure.persistence.entity.DeadLetterEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ObjectFactory;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface DeadLetterEntityMapper {
+
+    DeadLetterEntity toEntity(DeadLetter deadLetter);
+
+    @ObjectFactory
+    default DeadLetter createDeadLetter(DeadLetterEntity entity) {
+        return new DeadLetter(
+                entity.getId(),
+                entity.getSourceTopic(),
+                entity.getMessageKey(),
+                entity.getPayload(),
+                entity.getPodId(),
+                entity.getJobId(),
+                entity.getDataItemId(),
+                entity.getErrorClass(),
+                entity.getErrorMessage(),
+                entity.getAttempts(),
+                entity.getFailedAt());
+    }
+
+    DeadLetter toDomain(DeadLetterEntity entity);
+}
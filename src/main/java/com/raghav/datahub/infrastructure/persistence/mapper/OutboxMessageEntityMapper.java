@@ -0,0 +1,26 @@
+package com.raghav.datahub.infrastructure.persistence.mapper;
+
+import com.raghav.datahub.domain.model.OutboxMessage;
+import com.raghav.datahub.infrastructure.persistence.entity.OutboxMessageEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ObjectFactory;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface OutboxMessageEntityMapper {
+
+    OutboxMessageEntity toEntity(OutboxMessage message);
+
+    @ObjectFactory
+    default OutboxMessage createOutboxMessage(OutboxMessageEntity entity) {
+        return new OutboxMessage(
+                entity.getId(),
+                entity.getTopic(),
+                entity.getMessageKey(),
+                entity.getPodId(),
+                entity.getPayload(),
+                entity.getCreatedAt());
+    }
+
+    OutboxMessage toDomain(OutboxMessageEntity entity);
+}
@@ -0,0 +1,20 @@
+package com.raghav.datahub.infrastructure.persistence.mapper;
+
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+import com.raghav.datahub.infrastructure.persistence.entity.PodEmbeddingModelEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ObjectFactory;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PodEmbeddingModelEntityMapper {
+
+    PodEmbeddingModelEntity toEntity(PodEmbeddingModel model);
+
+    @ObjectFactory
+    default PodEmbeddingModel createPodEmbeddingModel(PodEmbeddingModelEntity entity) {
+        return new PodEmbeddingModel(entity.getPodId(), entity.getActiveModel());
+    }
+
+    PodEmbeddingModel toDomain(PodEmbeddingModelEntity entity);
+}
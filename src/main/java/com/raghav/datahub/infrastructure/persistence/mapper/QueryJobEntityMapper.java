@@ -0,0 +1,28 @@
+package com.raghav.datahub.infrastructure.persistence.mapper;
+
+import com.raghav.datahub.domain.model.QueryJob;
+import com.raghav.datahub.infrastructure.persistence.entity.QueryJobEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ObjectFactory;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface QueryJobEntityMapper {
+
+    QueryJobEntity toEntity(QueryJob job);
+
+    /**
+     * ObjectFactory to construct QueryJob from its immutable fields;
+     * MapStruct fills in the mutable ones through setters.
+     */
+    @ObjectFactory
+    default QueryJob createQueryJob(QueryJobEntity entity) {
+        return new QueryJob(
+                entity.getQueryId(),
+                entity.getPodId(),
+                entity.getQuestion(),
+                entity.getCreatedAt());
+    }
+
+    QueryJob toDomain(QueryJobEntity entity);
+}
@@ -1,9 +1,17 @@
 package com.raghav.datahub.infrastructure.persistence.repository;
 
 import com.raghav.datahub.infrastructure.persistence.entity.DataItemEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 
@@ -11,4 +19,58 @@ public interface DataItemSpringRepository extends JpaRepository<DataItemEntity,
 
     @QueryHints(value = @QueryHint(name ="jakarta.persistence.query.fetchSize" , value = "500"))
     Stream<DataItemEntity> streamByPodId(String podId);
-}
\ No newline at end of file
+
+    long countByPodId(String podId);
+
+    /**
+     * Keyset page: served from the (pod_id, id) index without an OFFSET scan.
+     */
+    @Query("SELECT d FROM DataItemEntity d WHERE d.pod.id = :podId AND d.id > :afterId ORDER BY d.id")
+    List<DataItemEntity> findPageAfter(@Param("podId") String podId, @Param("afterId") String afterId, Limit limit);
+
+    @Query("SELECT d FROM DataItemEntity d WHERE d.pod.id = :podId AND d.id IN :ids")
+    List<DataItemEntity> findByPodIdAndIds(@Param("podId") String podId, @Param("ids") List<String> ids);
+
+    @Query("SELECT d FROM DataItemEntity d WHERE d.pod.id = :podId AND d.id = :id")
+    Optional<DataItemEntity> findByPodIdAndId(@Param("podId") String podId, @Param("id") String id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM DataItemEntity d WHERE d.pod.id = :podId AND d.id = :id")
+    Optional<DataItemEntity> lockByPodIdAndId(@Param("podId") String podId, @Param("id") String id);
+
+    @Query("SELECT d FROM DataItemEntity d WHERE d.pod.id = :podId AND d.canonicalItemId = :canonicalItemId "
+            + "ORDER BY d.createdAt, d.id")
+    List<DataItemEntity> findDuplicatesOf(@Param("podId") String podId,
+            @Param("canonicalItemId") String canonicalItemId);
+
+    @Modifying
+    @Query("UPDATE DataItemEntity d SET d.content = :content, d.simhash = :simhash, "
+            + "d.canonicalItemId = :canonicalItemId WHERE d.pod.id = :podId AND d.id = :id")
+    int updateContent(@Param("podId") String podId, @Param("id") String id, @Param("content") String content,
+            @Param("simhash") Long simhash, @Param("canonicalItemId") String canonicalItemId);
+
+    @Modifying
+    @Query("DELETE FROM DataItemEntity d WHERE d.pod.id = :podId AND d.id = :id")
+    int deleteByPodIdAndId(@Param("podId") String podId, @Param("id") String id);
+
+    @Modifying
+    @Query("DELETE FROM DataItemEntity d WHERE d.pod.id = :podId")
+    int deleteByPodId(@Param("podId") String podId);
+
+    /**
+     * Oldest canonical item of the pod within maxDistance bits of the fingerprint. Any such
+     * item shares at least one 16-bit band with it, so only band matches are compared.
+     */
+    @Query(value = "SELECT id FROM data_items WHERE pod_id = :podId AND canonical_item_id IS NULL "
+            + "AND (simhash_b0 = :b0 OR simhash_b1 = :b1 OR simhash_b2 = :b2 OR simhash_b3 = :b3) "
+            + "AND bit_count(CAST(simhash # :simhash AS bit(64))) <= :maxDistance AND id <> :excludeId "
+            + "ORDER BY created_at, id LIMIT 1", nativeQuery = true)
+    Optional<String> findNearDuplicate(@Param("podId") String podId, @Param("simhash") long simhash,
+            @Param("b0") int b0, @Param("b1") int b1, @Param("b2") int b2, @Param("b3") int b3,
+            @Param("maxDistance") int maxDistance, @Param("excludeId") String excludeId);
+
+    @Modifying
+    @Query("UPDATE DataItemEntity d SET d.simhash = :simhash, d.canonicalItemId = :canonicalItemId WHERE d.id = :id")
+    int updateSimhash(@Param("id") String id, @Param("simhash") long simhash,
+            @Param("canonicalItemId") String canonicalItemId);
+}
@@ -0,0 +1,73 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.model.DeadLetter;
+import com.raghav.datahub.domain.model.DeadLetterFilter;
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+import com.raghav.datahub.domain.repository.DeadLetterRepository;
+import com.raghav.datahub.infrastructure.persistence.mapper.DeadLetterEntityMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Primary
+@RequiredArgsConstructor
+public class JpaDeadLetterRepositoryAdapter implements DeadLetterRepository {
+
+    private final JpaDeadLetterSpringRepository springRepository;
+    private final DeadLetterEntityMapper mapper;
+
+    @Override
+    public DeadLetter save(DeadLetter deadLetter) {
+        return mapper.toDomain(springRepository.save(mapper.toEntity(deadLetter)));
+    }
+
+    @Override
+    @Transactional
+    public boolean saveIfAbsent(DeadLetter deadLetter) {
+        return springRepository.insertIfAbsent(mapper.toEntity(deadLetter)) > 0;
+    }
+
+    @Override
+    public boolean existsAt(int dlqPartition, long dlqOffset) {
+        return springRepository.existsByDlqPartitionAndDlqOffset(dlqPartition, dlqOffset);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DeadLetter> lockPendingBatch(DeadLetterFilter filter, int limit) {
+        return springRepository.lockPendingBatch(filter.podId(), filter.failedFrom(), filter.failedTo(),
+                        filter.errorClass(), limit).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markReplayed(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            springRepository.markReplayed(ids);
+        }
+    }
+
+    @Override
+    public long countByStatus(DeadLetterStatus status) {
+        return springRepository.countByStatus(status);
+    }
+
+    @Override
+    public long countPending(DeadLetterFilter filter) {
+        return springRepository.countPending(filter.podId(), filter.failedFrom(), filter.failedTo(),
+                filter.errorClass());
+    }
+
+    @Override
+    @Transactional
+    public int deletePendingByPodId(String podId) {
+        return springRepository.deletePendingByPodId(podId);
+    }
+}
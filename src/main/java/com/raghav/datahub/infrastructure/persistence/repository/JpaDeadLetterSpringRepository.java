@@ -0,0 +1,57 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+import com.raghav.datahub.infrastructure.persistence.entity.DeadLetterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JpaDeadLetterSpringRepository extends JpaRepository<DeadLetterEntity, Long> {
+
+    String PENDING_FILTER = "status = 'PENDING'"
+            + " AND (CAST(:podId AS VARCHAR) IS NULL OR pod_id = :podId)"
+            + " AND (CAST(:failedFrom AS TIMESTAMP) IS NULL OR failed_at >= :failedFrom)"
+            + " AND (CAST(:failedTo AS TIMESTAMP) IS NULL OR failed_at < :failedTo)"
+            + " AND (CAST(:errorClass AS VARCHAR) IS NULL OR error_class = :errorClass OR error_class LIKE '%.' || :errorClass)";
+
+    @Query(value = "SELECT * FROM dead_letters WHERE " + PENDING_FILTER
+            + " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DeadLetterEntity> lockPendingBatch(@Param("podId") String podId,
+            @Param("failedFrom") Instant failedFrom,
+            @Param("failedTo") Instant failedTo,
+            @Param("errorClass") String errorClass,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM dead_letters WHERE " + PENDING_FILTER, nativeQuery = true)
+    long countPending(@Param("podId") String podId,
+            @Param("failedFrom") Instant failedFrom,
+            @Param("failedTo") Instant failedTo,
+            @Param("errorClass") String errorClass);
+
+    long countByStatus(DeadLetterStatus status);
+
+    boolean existsByDlqPartitionAndDlqOffset(Integer dlqPartition, Long dlqOffset);
+
+    @Modifying
+    @Query(value = "INSERT INTO dead_letters (source_topic, message_key, payload, pod_id, job_id, data_item_id, "
+            + "error_class, error_message, attempts, failed_at, status, dlq_partition, dlq_offset) "
+            + "VALUES (:#{#d.sourceTopic}, :#{#d.messageKey}, :#{#d.payload}, :#{#d.podId}, :#{#d.jobId}, "
+            + ":#{#d.dataItemId}, :#{#d.errorClass}, :#{#d.errorMessage}, :#{#d.attempts}, :#{#d.failedAt}, "
+            + ":#{#d.status.name()}, :#{#d.dlqPartition}, :#{#d.dlqOffset}) "
+            + "ON CONFLICT (dlq_partition, dlq_offset) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("d") DeadLetterEntity d);
+
+    @Modifying
+    @Query("UPDATE DeadLetterEntity d SET d.status = com.raghav.datahub.domain.model.DeadLetterStatus.REPLAYED, d.replayedAt = CURRENT_TIMESTAMP WHERE d.id IN :ids")
+    int markReplayed(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM DeadLetterEntity d WHERE d.podId = :podId AND d.status = com.raghav.datahub.domain.model.DeadLetterStatus.PENDING")
+    int deletePendingByPodId(@Param("podId") String podId);
+}
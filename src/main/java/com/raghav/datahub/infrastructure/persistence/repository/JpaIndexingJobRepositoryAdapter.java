@@ -10,6 +10,9 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 @Primary
 @RequiredArgsConstructor
@@ -32,6 +35,13 @@ public class JpaIndexingJobRepositoryAdapter implements IndexingJobRepository {
                 .orElse(null);
     }
 
+    @Override
+    public IndexingJob findLatestByPodIdAndStatus(String podId, JobStatus status) {
+        return springRepository.findFirstByPodIdAndStatusOrderByCreatedAtDesc(podId, status)
+                .map(mapper::toDomain)
+                .orElse(null);
+    }
+
     @Override
     @Transactional
     public boolean updateStatusConditionally(String jobId, JobStatus expectedStatus, JobStatus newStatus) {
@@ -39,6 +49,38 @@ public class JpaIndexingJobRepositoryAdapter implements IndexingJobRepository {
         return updatedRows > 0;
     }
 
+    @Override
+    @Transactional
+    public boolean claimForFanOut(String jobId, Instant staleBefore) {
+        return springRepository.claimForFanOut(jobId, staleBefore) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void saveCheckpoint(String jobId, String lastItemId, long itemCount) {
+        springRepository.saveCheckpoint(jobId, lastItemId, itemCount);
+    }
+
+    @Override
+    @Transactional
+    public void heartbeat(String jobId) {
+        springRepository.heartbeat(jobId);
+    }
+
+    @Override
+    public List<IndexingJob> findAbandonedFanOuts(Instant staleBefore) {
+        return springRepository.findAbandonedFanOuts(staleBefore).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<IndexingJob> findClaimablePending(Instant createdBefore, Instant staleBefore) {
+        return springRepository.findClaimablePending(createdBefore, staleBefore).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     @Transactional
     public void markAsCompleted(String jobId) {
@@ -50,4 +92,56 @@ public class JpaIndexingJobRepositoryAdapter implements IndexingJobRepository {
     public void markAsFailed(String jobId, String errorMessage) {
         springRepository.markAsFailed(jobId, errorMessage);
     }
+
+    @Override
+    @Transactional
+    public int failOpenByPodId(String podId, String errorMessage) {
+        return springRepository.failOpenByPodId(podId, errorMessage);
+    }
+
+    @Override
+    @Transactional
+    public void markFannedOut(String jobId, long expectedItems) {
+        springRepository.markFannedOut(jobId, expectedItems);
+    }
+
+    @Override
+    @Transactional
+    public OutcomeChange recordItemOutcome(String jobId, String itemId, boolean failed) {
+        if (springRepository.insertItemOutcome(jobId, itemId, failed) > 0) {
+            return OutcomeChange.NEW;
+        }
+        return springRepository.flipItemOutcome(jobId, itemId, failed) > 0
+                ? OutcomeChange.FLIPPED
+                : OutcomeChange.UNCHANGED;
+    }
+
+    @Override
+    @Transactional
+    public void incrementItemCounts(String jobId, long processed, long failed) {
+        springRepository.incrementItemCounts(jobId, processed, failed);
+    }
+
+    @Override
+    @Transactional
+    public void recountItems(String jobId) {
+        springRepository.recountItems(jobId);
+    }
+
+    @Override
+    public List<String> findStalledJobIds(Instant before) {
+        return springRepository.findStalledJobIds(before);
+    }
+
+    @Override
+    @Transactional
+    public int deleteFinishedItemOutcomes() {
+        return springRepository.deleteFinishedItemOutcomes();
+    }
+
+    @Override
+    @Transactional
+    public boolean completeIfDrained(String jobId) {
+        return springRepository.completeIfDrained(jobId) > 0;
+    }
 }
\ No newline at end of file
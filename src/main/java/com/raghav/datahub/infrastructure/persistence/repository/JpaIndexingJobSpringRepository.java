@@ -8,9 +8,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface JpaIndexingJobSpringRepository extends JpaRepository<IndexingJobEntity, String> {
 
+    Optional<IndexingJobEntity> findFirstByPodIdAndStatusOrderByCreatedAtDesc(String podId, JobStatus status);
+
     /**
      * Atomically update job status only if current status matches expected.
      * Returns number of rows updated (0 if condition not met).
@@ -20,6 +26,30 @@ public interface JpaIndexingJobSpringRepository extends JpaRepository<IndexingJo
     int updateStatusConditionally(@Param("id") String id, @Param("expectedStatus") JobStatus expectedStatus,
             @Param("newStatus") JobStatus newStatus);
 
+    /**
+     * Claims a PENDING job unless another job of the pod is still making progress, or takes over
+     * an unfinished fan-out whose owner stopped heartbeating. startedAt is kept on takeover so
+     * throughput covers the whole job.
+     */
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING, j.startedAt = COALESCE(j.startedAt, CURRENT_TIMESTAMP), j.heartbeatAt = CURRENT_TIMESTAMP WHERE j.jobId = :id AND ((j.status = com.raghav.datahub.domain.model.JobStatus.PENDING AND NOT EXISTS (SELECT 1 FROM IndexingJobEntity o WHERE o.podId = j.podId AND o.jobId <> j.jobId AND o.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND ((o.fannedOutAt IS NULL AND o.heartbeatAt >= :staleBefore) OR (o.fannedOutAt IS NOT NULL AND COALESCE(o.progressAt, o.fannedOutAt) >= :staleBefore)))) OR (j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND j.fannedOutAt IS NULL AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)))")
+    int claimForFanOut(@Param("id") String id, @Param("staleBefore") Instant staleBefore);
+
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.checkpointItemId = :itemId, j.checkpointCount = :count, j.heartbeatAt = CURRENT_TIMESTAMP WHERE j.jobId = :id")
+    int saveCheckpoint(@Param("id") String id, @Param("itemId") String itemId, @Param("count") long count);
+
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.heartbeatAt = CURRENT_TIMESTAMP WHERE j.jobId = :id")
+    int heartbeat(@Param("id") String id);
+
+    @Query("SELECT j FROM IndexingJobEntity j WHERE j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND j.fannedOutAt IS NULL AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    List<IndexingJobEntity> findAbandonedFanOuts(@Param("staleBefore") Instant staleBefore);
+
+    @Query("SELECT j FROM IndexingJobEntity j WHERE j.status = com.raghav.datahub.domain.model.JobStatus.PENDING AND j.createdAt < :createdBefore AND NOT EXISTS (SELECT 1 FROM IndexingJobEntity o WHERE o.podId = j.podId AND o.jobId <> j.jobId AND o.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND ((o.fannedOutAt IS NULL AND o.heartbeatAt >= :staleBefore) OR (o.fannedOutAt IS NOT NULL AND COALESCE(o.progressAt, o.fannedOutAt) >= :staleBefore)))")
+    List<IndexingJobEntity> findClaimablePending(@Param("createdBefore") Instant createdBefore,
+            @Param("staleBefore") Instant staleBefore);
+
     /**
      * Mark job as completed with finish time.
      */
@@ -33,4 +63,52 @@ public interface JpaIndexingJobSpringRepository extends JpaRepository<IndexingJo
     @Modifying
     @Query("UPDATE IndexingJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.FAILED, j.finishedAt = CURRENT_TIMESTAMP, j.errorMessage = :error WHERE j.jobId = :id")
     int markAsFailed(@Param("id") String id, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.FAILED, j.finishedAt = CURRENT_TIMESTAMP, j.errorMessage = :error WHERE j.podId = :podId AND j.status IN (com.raghav.datahub.domain.model.JobStatus.PENDING, com.raghav.datahub.domain.model.JobStatus.RUNNING)")
+    int failOpenByPodId(@Param("podId") String podId, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.expectedItems = :expected, j.fannedOutAt = CURRENT_TIMESTAMP WHERE j.jobId = :id")
+    int markFannedOut(@Param("id") String id, @Param("expected") long expected);
+
+    /**
+     * Single-statement increment; callers batch outcomes so this runs about once per second per job.
+     */
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.processedItems = j.processedItems + :processed, j.failedItems = j.failedItems + :failed, j.progressAt = CURRENT_TIMESTAMP WHERE j.jobId = :id")
+    int incrementItemCounts(@Param("id") String id, @Param("processed") long processed,
+            @Param("failed") long failed);
+
+    @Modifying
+    @Query(value = "INSERT INTO indexing_job_items (job_id, item_id, failed) VALUES (:jobId, :itemId, :failed) "
+            + "ON CONFLICT (job_id, item_id) DO NOTHING", nativeQuery = true)
+    int insertItemOutcome(@Param("jobId") String jobId, @Param("itemId") String itemId,
+            @Param("failed") boolean failed);
+
+    @Modifying
+    @Query(value = "UPDATE indexing_job_items SET failed = :failed "
+            + "WHERE job_id = :jobId AND item_id = :itemId AND failed <> :failed", nativeQuery = true)
+    int flipItemOutcome(@Param("jobId") String jobId, @Param("itemId") String itemId,
+            @Param("failed") boolean failed);
+
+    @Modifying
+    @Query(value = "UPDATE indexing_jobs j SET processed_items = c.processed, failed_items = c.failed, "
+            + "progress_at = CURRENT_TIMESTAMP FROM (SELECT count(*) FILTER (WHERE NOT failed) AS processed, "
+            + "count(*) FILTER (WHERE failed) AS failed FROM indexing_job_items WHERE job_id = :id) c "
+            + "WHERE j.job_id = :id", nativeQuery = true)
+    int recountItems(@Param("id") String id);
+
+    @Query(value = "SELECT job_id FROM indexing_jobs WHERE status = 'RUNNING' AND fanned_out_at IS NOT NULL "
+            + "AND COALESCE(progress_at, fanned_out_at) < :before", nativeQuery = true)
+    List<String> findStalledJobIds(@Param("before") Instant before);
+
+    @Modifying
+    @Query(value = "DELETE FROM indexing_job_items i WHERE NOT EXISTS (SELECT 1 FROM indexing_jobs j "
+            + "WHERE j.job_id = i.job_id AND j.status = 'RUNNING')", nativeQuery = true)
+    int deleteFinishedItemOutcomes();
+
+    @Modifying
+    @Query("UPDATE IndexingJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.COMPLETED, j.finishedAt = CURRENT_TIMESTAMP WHERE j.jobId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND j.expectedItems IS NOT NULL AND j.processedItems + j.failedItems >= j.expectedItems")
+    int completeIfDrained(@Param("id") String id);
 }
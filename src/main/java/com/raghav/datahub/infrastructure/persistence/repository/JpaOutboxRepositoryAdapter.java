@@ -0,0 +1,68 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.model.OutboxMessage;
+import com.raghav.datahub.domain.repository.OutboxRepository;
+import com.raghav.datahub.infrastructure.persistence.mapper.OutboxMessageEntityMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Primary
+@RequiredArgsConstructor
+public class JpaOutboxRepositoryAdapter implements OutboxRepository {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JpaOutboxSpringRepository springRepository;
+    private final OutboxMessageEntityMapper mapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxMessage message) {
+        springRepository.save(mapper.toEntity(message));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessage> lockUnsentBatch(int limit, int maxAttempts) {
+        return springRepository.lockUnsentBatch(limit, maxAttempts).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markSent(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            springRepository.markSent(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(Long id, String error, Instant nextAttemptAt) {
+        springRepository.recordFailure(id, abbreviate(error), nextAttemptAt);
+    }
+
+    @Override
+    @Transactional
+    public int deleteSentBefore(Instant cutoff) {
+        return springRepository.deleteSentBefore(cutoff);
+    }
+
+    @Override
+    @Transactional
+    public int deleteUnsentByPodId(String podId) {
+        return springRepository.deleteUnsentByPodId(podId);
+    }
+
+    private static String abbreviate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,38 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.infrastructure.persistence.entity.OutboxMessageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JpaOutboxSpringRepository extends JpaRepository<OutboxMessageEntity, Long> {
+
+    /**
+     * SKIP LOCKED lets several relay instances drain the outbox concurrently without blocking each other.
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE sent_at IS NULL AND attempts < :maxAttempts AND (next_attempt_at IS NULL OR next_attempt_at <= CURRENT_TIMESTAMP) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessageEntity> lockUnsentBatch(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE OutboxMessageEntity m SET m.sentAt = CURRENT_TIMESTAMP WHERE m.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxMessageEntity m SET m.attempts = m.attempts + 1, m.lastError = :error, m.nextAttemptAt = :nextAttemptAt WHERE m.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error,
+            @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessageEntity m WHERE m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessageEntity m WHERE m.podId = :podId AND m.sentAt IS NULL")
+    int deleteUnsentByPodId(@Param("podId") String podId);
+}
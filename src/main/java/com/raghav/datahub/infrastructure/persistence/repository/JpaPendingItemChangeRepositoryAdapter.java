@@ -0,0 +1,52 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.repository.PendingItemChangeRepository;
+import com.raghav.datahub.infrastructure.persistence.entity.PendingItemChangeEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Primary
+@RequiredArgsConstructor
+public class JpaPendingItemChangeRepositoryAdapter implements PendingItemChangeRepository {
+
+    private final JpaPendingItemChangeSpringRepository springRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String podId, String itemId) {
+        PendingItemChangeEntity entity = new PendingItemChangeEntity();
+        entity.setPodId(podId);
+        entity.setItemId(itemId);
+        entity.setCreatedAt(Instant.now());
+        springRepository.save(entity);
+    }
+
+    @Override
+    public List<String> findDuePods(Instant quietBefore, Instant oldestBefore, int maxItems, int limit) {
+        return springRepository.findDuePods(quietBefore, oldestBefore, maxItems, limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> take(String podId) {
+        List<PendingItemChangeEntity> changes = springRepository.lockByPodId(podId);
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        springRepository.deleteByIds(changes.stream().map(PendingItemChangeEntity::getId).toList());
+        return changes.stream().map(PendingItemChangeEntity::getItemId).distinct().toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteByPodId(String podId) {
+        springRepository.deleteByPodId(podId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.infrastructure.persistence.entity.PendingItemChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JpaPendingItemChangeSpringRepository extends JpaRepository<PendingItemChangeEntity, Long> {
+
+    @Query(value = "SELECT pod_id FROM pending_item_changes GROUP BY pod_id "
+            + "HAVING max(created_at) <= :quietBefore OR min(created_at) <= :oldestBefore OR count(*) >= :maxItems "
+            + "ORDER BY min(id) LIMIT :limit", nativeQuery = true)
+    List<String> findDuePods(@Param("quietBefore") Instant quietBefore, @Param("oldestBefore") Instant oldestBefore,
+            @Param("maxItems") int maxItems, @Param("limit") int limit);
+
+    /**
+     * SKIP LOCKED: another instance flushing the same pod takes the rows it locked, this one the rest.
+     */
+    @Query(value = "SELECT * FROM pending_item_changes WHERE pod_id = :podId ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PendingItemChangeEntity> lockByPodId(@Param("podId") String podId);
+
+    @Modifying
+    @Query("DELETE FROM PendingItemChangeEntity c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM PendingItemChangeEntity c WHERE c.podId = :podId")
+    int deleteByPodId(@Param("podId") String podId);
+}
@@ -0,0 +1,85 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+import com.raghav.datahub.domain.repository.PodEmbeddingModelRepository;
+import com.raghav.datahub.infrastructure.persistence.mapper.PodEmbeddingModelEntityMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Primary
+@RequiredArgsConstructor
+public class JpaPodEmbeddingModelRepositoryAdapter implements PodEmbeddingModelRepository {
+
+    private final JpaPodEmbeddingModelSpringRepository springRepository;
+    private final PodEmbeddingModelEntityMapper mapper;
+
+    @Override
+    public PodEmbeddingModel findByPodId(String podId) {
+        return springRepository.findById(podId)
+                .map(mapper::toDomain)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public PodEmbeddingModel getOrCreate(String podId, String defaultModel) {
+        return springRepository.findById(podId)
+                .or(() -> {
+                    springRepository.insertIfAbsent(podId, defaultModel);
+                    return springRepository.findById(podId);
+                })
+                .map(mapper::toDomain)
+                .orElseThrow();
+    }
+
+    @Override
+    @Transactional
+    public PodEmbeddingModel save(PodEmbeddingModel model) {
+        return mapper.toDomain(springRepository.save(mapper.toEntity(model)));
+    }
+
+    @Override
+    public List<PodEmbeddingModel> findAll() {
+        return springRepository.findAll().stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteByPodId(String podId) {
+        springRepository.deleteByPodId(podId);
+    }
+
+    @Override
+    public List<String> findMigratingPodIds() {
+        return springRepository.findMigratingPodIds();
+    }
+
+    @Override
+    @Transactional
+    public boolean claimMigration(String podId, Instant staleBefore) {
+        return springRepository.claimMigration(podId, Instant.now(), staleBefore) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PodEmbeddingModel lockMigrating(String podId) {
+        return springRepository.lockMigrating(podId)
+                .map(mapper::toDomain)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String lockActiveModel(String podId) {
+        return springRepository.lockActiveModel(podId).orElse(null);
+    }
+}
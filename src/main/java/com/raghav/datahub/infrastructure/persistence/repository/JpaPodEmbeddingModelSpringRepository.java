@@ -0,0 +1,42 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.infrastructure.persistence.entity.PodEmbeddingModelEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JpaPodEmbeddingModelSpringRepository extends JpaRepository<PodEmbeddingModelEntity, String> {
+
+    /**
+     * Pods indexed before models were tracked keep the model recorded on their chunks.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO pod_embedding_models (pod_id, active_model, total_items, migrated_items) "
+            + "VALUES (:podId, COALESCE((SELECT c.model_version FROM vector_chunks c WHERE c.pod_id = :podId LIMIT 1), :defaultModel), 0, 0) "
+            + "ON CONFLICT (pod_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("podId") String podId, @Param("defaultModel") String defaultModel);
+
+    @Modifying
+    @Query("DELETE FROM PodEmbeddingModelEntity m WHERE m.podId = :podId")
+    int deleteByPodId(@Param("podId") String podId);
+
+    @Query("SELECT m.podId FROM PodEmbeddingModelEntity m WHERE m.migrationStatus = com.raghav.datahub.domain.model.MigrationStatus.MIGRATING")
+    List<String> findMigratingPodIds();
+
+    @Modifying
+    @Query(value = "UPDATE pod_embedding_models SET heartbeat_at = :now WHERE pod_id = :podId AND migration_status = 'MIGRATING' AND (heartbeat_at IS NULL OR heartbeat_at < :staleBefore)", nativeQuery = true)
+    int claimMigration(@Param("podId") String podId, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    @Query(value = "SELECT * FROM pod_embedding_models WHERE pod_id = :podId AND migration_status = 'MIGRATING' FOR UPDATE", nativeQuery = true)
+    Optional<PodEmbeddingModelEntity> lockMigrating(@Param("podId") String podId);
+
+    @Query(value = "SELECT active_model FROM pod_embedding_models WHERE pod_id = :podId FOR SHARE", nativeQuery = true)
+    Optional<String> lockActiveModel(@Param("podId") String podId);
+}
@@ -2,10 +2,12 @@ package com.raghav.datahub.infrastructure.persistence.repository;
 
 import com.raghav.datahub.domain.model.PodIndex;
 import com.raghav.datahub.domain.repository.PodIndexRepository;
-import com.raghav.datahub.infrastructure.persistence.entity.PodIndexEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 @Primary
@@ -15,18 +17,37 @@ public class JpaPodIndexRepositoryAdapter implements PodIndexRepository {
     private final JpaPodIndexSpringRepository springRepository;
 
     @Override
-    public void save(PodIndex index) {
-        PodIndexEntity e = new PodIndexEntity();
-        e.setPodId(index.getPodId());
-        e.setCombinedText(index.getCombinedText());
-        e.setCreatedAt(index.getCreatedAt());
-        springRepository.save(e);
+    @Transactional
+    public boolean indexAllItems(String podId) {
+        if (springRepository.upsert(podId) == 0) {
+            return false;
+        }
+        springRepository.addAllItems(podId);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void addItems(String podId, List<String> itemIds) {
+        if (!itemIds.isEmpty()) {
+            springRepository.addItems(podId, itemIds);
+        }
     }
 
     @Override
-    public PodIndex findByPodId(String podId) {
+    @Transactional(readOnly = true)
+    public PodIndex findByPodId(String podId, boolean skipDuplicates) {
         return springRepository.findById(podId)
-                .map(e -> new PodIndex(e.getPodId(), e.getCombinedText(), e.getCreatedAt()))
+                .map(e -> {
+                    String text = springRepository.aggregateText(podId, skipDuplicates);
+                    return new PodIndex(e.getPodId(), text != null ? text : "", e.getCreatedAt());
+                })
                 .orElse(null);
     }
+
+    @Override
+    @Transactional
+    public void deleteByPodId(String podId) {
+        springRepository.deleteById(podId);
+    }
 }
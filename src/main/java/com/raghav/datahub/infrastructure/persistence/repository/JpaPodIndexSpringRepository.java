@@ -2,8 +2,40 @@ package com.raghav.datahub.infrastructure.persistence.repository;
 
 import com.raghav.datahub.infrastructure.persistence.entity.PodIndexEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface JpaPodIndexSpringRepository extends JpaRepository<PodIndexEntity, String> {
+
+    /**
+     * Creates or re-stamps the pod's index row; nothing is written if the pod does not exist.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO pod_indexes (pod_id, created_at) SELECT p.id, now() FROM pods p WHERE p.id = :podId "
+            + "ON CONFLICT (pod_id) DO UPDATE SET created_at = EXCLUDED.created_at", nativeQuery = true)
+    int upsert(@Param("podId") String podId);
+
+    @Modifying
+    @Query(value = "INSERT INTO pod_index_items (pod_id, item_id) SELECT d.pod_id, d.id FROM data_items d "
+            + "WHERE d.pod_id = :podId ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addAllItems(@Param("podId") String podId);
+
+    @Modifying
+    @Query(value = "INSERT INTO pod_index_items (pod_id, item_id) SELECT d.pod_id, d.id FROM data_items d "
+            + "JOIN pod_indexes i ON i.pod_id = d.pod_id WHERE d.pod_id = :podId AND d.id IN (:itemIds) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addItems(@Param("podId") String podId, @Param("itemIds") List<String> itemIds);
+
+    /**
+     * Current content of the covered items, one per line in id order; null if there are none.
+     */
+    @Query(value = "SELECT string_agg(d.content || chr(10), '' ORDER BY d.id) FROM pod_index_items e "
+            + "JOIN data_items d ON d.id = e.item_id "
+            + "WHERE e.pod_id = :podId AND (:skipDuplicates = FALSE OR d.canonical_item_id IS NULL)", nativeQuery = true)
+    String aggregateText(@Param("podId") String podId, @Param("skipDuplicates") boolean skipDuplicates);
 }
@@ -8,10 +8,13 @@ import com.raghav.datahub.infrastructure.persistence.entity.PodEntity;
 import com.raghav.datahub.infrastructure.persistence.mapper.PodEntityMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -20,6 +23,8 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class JpaPodRepositoryAdapter implements PodRepository {
 
+    private static final int KEYSET_PAGE_SIZE = 500;
+
     private final JpaPodSpringRepository springRepository;
     private final DataItemSpringRepository dataItemSpringRepository;
     private final PodEntityMapper mapper;
@@ -38,6 +43,109 @@ public class JpaPodRepositoryAdapter implements PodRepository {
                 .orElse(null);
     }
 
+    @Override
+    public boolean existsById(String id) {
+        return springRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean lockForUpdate(String id) {
+        return springRepository.lockById(id).isPresent();
+    }
+
+    @Override
+    public String findOwnerUserId(String id) {
+        return springRepository.findOwnerUserId(id).orElse(null);
+    }
+
+    @Override
+    public long countItems(String podId) {
+        return dataItemSpringRepository.countByPodId(podId);
+    }
+
+    @Override
+    public DataItem findItem(String podId, String itemId) {
+        return dataItemSpringRepository.findByPodIdAndId(podId, itemId)
+                .map(mapper::toItemDomain)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DataItem lockItemForShare(String podId, String itemId) {
+        return dataItemSpringRepository.lockByPodIdAndId(podId, itemId)
+                .map(mapper::toItemDomain)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public boolean updateItem(String podId, DataItem item) {
+        return dataItemSpringRepository.updateContent(podId, item.getId(), item.getContent(), item.getSimhash(),
+                item.getCanonicalItemId()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteItem(String podId, String itemId) {
+        return dataItemSpringRepository.deleteByPodIdAndId(podId, itemId) > 0;
+    }
+
+    /**
+     * Bulk deletes, so a large pod is removed without loading its items.
+     */
+    @Override
+    @Transactional
+    public boolean delete(String podId) {
+        dataItemSpringRepository.deleteByPodId(podId);
+        return springRepository.deletePod(podId) > 0;
+    }
+
+    @Override
+    public List<DataItem> findDuplicatesOf(String podId, String canonicalItemId) {
+        return dataItemSpringRepository.findDuplicatesOf(podId, canonicalItemId).stream()
+                .map(mapper::toItemDomain)
+                .toList();
+    }
+
+    @Override
+    public List<DataItem> findItems(String podId, List<String> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return dataItemSpringRepository.findByPodIdAndIds(podId, itemIds).stream()
+                .map(mapper::toItemDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean setAutoIndex(String podId, boolean autoIndex) {
+        return springRepository.updateAutoIndex(podId, autoIndex) > 0;
+    }
+
+    @Override
+    public String findNearDuplicate(String podId, long simhash, int maxDistance, String excludeItemId) {
+        return dataItemSpringRepository.findNearDuplicate(podId, simhash,
+                band(simhash, 0), band(simhash, 1), band(simhash, 2), band(simhash, 3), maxDistance,
+                excludeItemId != null ? excludeItemId : "")
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public void updateSimhash(String itemId, long simhash, String canonicalItemId) {
+        dataItemSpringRepository.updateSimhash(itemId, simhash, canonicalItemId);
+    }
+
+    /**
+     * Matches the generated simhash_b* columns: band 0 is the most significant 16 bits.
+     */
+    private static int band(long simhash, int band) {
+        return (int) ((simhash >>> (48 - 16 * band)) & 0xFFFF);
+    }
+
     @Override
     public Collection<Pod> findAll() {
         return springRepository.findAll().stream()
@@ -54,4 +162,20 @@ public class JpaPodRepositoryAdapter implements PodRepository {
             });
         }
     }
+
+    @Override
+    public void streamItemsAfter(String podId, String afterItemId, java.util.function.Consumer<DataItem> consumer) {
+        String cursor = afterItemId != null ? afterItemId : "";
+        while (true) {
+            List<DataItemEntity> page = dataItemSpringRepository.findPageAfter(podId, cursor,
+                    Limit.of(KEYSET_PAGE_SIZE));
+            for (DataItemEntity entity : page) {
+                consumer.accept(mapper.toItemDomain(entity));
+            }
+            if (page.size() < KEYSET_PAGE_SIZE) {
+                return;
+            }
+            cursor = page.get(page.size() - 1).getId();
+        }
+    }
 }
\ No newline at end of file
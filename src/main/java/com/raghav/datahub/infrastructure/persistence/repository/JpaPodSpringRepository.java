@@ -1,7 +1,10 @@
 package com.raghav.datahub.infrastructure.persistence.repository;
 
 import com.raghav.datahub.infrastructure.persistence.entity.PodEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,4 +16,19 @@ public interface JpaPodSpringRepository extends JpaRepository<PodEntity, String>
 
     @Query("SELECT p FROM PodEntity p LEFT JOIN FETCH p.items WHERE p.id = :id")
     Optional<PodEntity> findByIdWithItems(@Param("id") String id);
+
+    @Query("SELECT p.ownerUserId FROM PodEntity p WHERE p.id = :id")
+    Optional<String> findOwnerUserId(@Param("id") String id);
+
+    @Modifying
+    @Query("DELETE FROM PodEntity p WHERE p.id = :id")
+    int deletePod(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE PodEntity p SET p.autoIndex = :autoIndex WHERE p.id = :id")
+    int updateAutoIndex(@Param("id") String id, @Param("autoIndex") boolean autoIndex);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PodEntity p WHERE p.id = :id")
+    Optional<PodEntity> lockById(@Param("id") String id);
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.domain.model.QueryJob;
+import com.raghav.datahub.domain.repository.QueryJobRepository;
+import com.raghav.datahub.infrastructure.persistence.entity.QueryJobEntity;
+import com.raghav.datahub.infrastructure.persistence.mapper.QueryJobEntityMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Primary
+@RequiredArgsConstructor
+public class JpaQueryJobRepositoryAdapter implements QueryJobRepository {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JpaQueryJobSpringRepository springRepository;
+    private final QueryJobEntityMapper mapper;
+
+    @Override
+    public QueryJob save(QueryJob job) {
+        QueryJobEntity saved = springRepository.save(mapper.toEntity(job));
+        return mapper.toDomain(saved);
+    }
+
+    @Override
+    public QueryJob findById(String queryId) {
+        return springRepository.findById(queryId)
+                .map(mapper::toDomain)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public boolean claim(String queryId, String runId) {
+        return springRepository.claim(queryId, runId) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void heartbeat(List<String> runIds) {
+        springRepository.heartbeat(runIds);
+    }
+
+    @Override
+    @Transactional
+    public boolean requeueExpired(String queryId, Instant leaseCutoff) {
+        return springRepository.requeueExpired(queryId, leaseCutoff) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean markAsCompleted(String queryId, String runId, String answer, String[] usedItemIds,
+            Instant expiresAt) {
+        return springRepository.markAsCompleted(queryId, runId, answer, usedItemIds, expiresAt) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean markAsFailed(String queryId, String runId, String errorMessage, Instant expiresAt) {
+        return springRepository.markAsFailed(queryId, runId, abbreviate(errorMessage), expiresAt) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void rejectPending(String queryId, String errorMessage, Instant expiresAt) {
+        springRepository.rejectPending(queryId, abbreviate(errorMessage), expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public int failOpenByPodId(String podId, String errorMessage, Instant expiresAt) {
+        return springRepository.failOpenByPodId(podId, abbreviate(errorMessage), expiresAt);
+    }
+
+    @Override
+    public List<QueryJob> findStale(Instant pendingCutoff, Instant leaseCutoff, int limit) {
+        return springRepository.findStale(pendingCutoff, leaseCutoff, Limit.of(limit)).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(Instant now) {
+        return springRepository.deleteExpired(now);
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
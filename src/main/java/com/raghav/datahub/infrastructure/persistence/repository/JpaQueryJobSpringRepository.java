@@ -0,0 +1,68 @@
+package com.raghav.datahub.infrastructure.persistence.repository;
+
+import com.raghav.datahub.infrastructure.persistence.entity.QueryJobEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JpaQueryJobSpringRepository extends JpaRepository<QueryJobEntity, String> {
+
+    /**
+     * PENDING -> RUNNING under a new run id. Returns number of rows updated (0 if the job
+     * is no longer pending).
+     */
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING, j.startedAt = CURRENT_TIMESTAMP, j.heartbeatAt = CURRENT_TIMESTAMP, j.runId = :runId WHERE j.queryId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.PENDING")
+    int claim(@Param("id") String id, @Param("runId") String runId);
+
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.heartbeatAt = CURRENT_TIMESTAMP WHERE j.runId IN :runIds AND j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING")
+    int heartbeat(@Param("runIds") List<String> runIds);
+
+    /**
+     * RUNNING -> PENDING, only while the run's heartbeat is still older than the cutoff.
+     */
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.PENDING, j.runId = NULL WHERE j.queryId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND COALESCE(j.heartbeatAt, j.startedAt) < :cutoff")
+    int requeueExpired(@Param("id") String id, @Param("cutoff") Instant cutoff);
+
+    /**
+     * Mark job as completed and store its result, if the run still owns it.
+     */
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.COMPLETED, j.finishedAt = CURRENT_TIMESTAMP, j.answer = :answer, j.usedItemIds = :usedItemIds, j.expiresAt = :expiresAt WHERE j.queryId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND j.runId = :runId")
+    int markAsCompleted(@Param("id") String id, @Param("runId") String runId, @Param("answer") String answer,
+            @Param("usedItemIds") String[] usedItemIds, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Mark job as failed with error message, if the run still owns it.
+     */
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.FAILED, j.finishedAt = CURRENT_TIMESTAMP, j.errorMessage = :error, j.expiresAt = :expiresAt WHERE j.queryId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND j.runId = :runId")
+    int markAsFailed(@Param("id") String id, @Param("runId") String runId, @Param("error") String error,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.FAILED, j.finishedAt = CURRENT_TIMESTAMP, j.errorMessage = :error, j.expiresAt = :expiresAt WHERE j.queryId = :id AND j.status = com.raghav.datahub.domain.model.JobStatus.PENDING")
+    int rejectPending(@Param("id") String id, @Param("error") String error, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("UPDATE QueryJobEntity j SET j.status = com.raghav.datahub.domain.model.JobStatus.FAILED, j.finishedAt = CURRENT_TIMESTAMP, j.errorMessage = :error, j.expiresAt = :expiresAt, j.runId = NULL WHERE j.podId = :podId AND j.status IN (com.raghav.datahub.domain.model.JobStatus.PENDING, com.raghav.datahub.domain.model.JobStatus.RUNNING)")
+    int failOpenByPodId(@Param("podId") String podId, @Param("error") String error,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Query("SELECT j FROM QueryJobEntity j WHERE (j.status = com.raghav.datahub.domain.model.JobStatus.PENDING AND j.createdAt < :pendingCutoff) OR (j.status = com.raghav.datahub.domain.model.JobStatus.RUNNING AND COALESCE(j.heartbeatAt, j.startedAt) < :leaseCutoff) ORDER BY j.createdAt")
+    List<QueryJobEntity> findStale(@Param("pendingCutoff") Instant pendingCutoff,
+            @Param("leaseCutoff") Instant leaseCutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM QueryJobEntity j WHERE j.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,105 @@
+package com.raghav.datahub.service.dedup;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.DataItem;
+import com.raghav.datahub.domain.repository.PodRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fingerprints items and links near-duplicates to the earliest matching item of their pod,
+ * so that re-posted or lightly edited content is stored once in the vector index.
+ */
+@Slf4j
+@Component
+public class NearDuplicateDetector {
+
+    /**
+     * Four 16-bit bands: two fingerprints at most this far apart always share a band.
+     */
+    private static final int MAX_BANDED_DISTANCE = 3;
+
+    private final PodRepository podRepository;
+    private final IndexingProperties.Dedup props;
+
+    private final Counter unique;
+    private final Counter duplicates;
+
+    public NearDuplicateDetector(PodRepository podRepository,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.podRepository = podRepository;
+        this.props = indexingProperties.getDedup();
+        this.unique = meterRegistry.counter("datahub.dedup.items", "result", "unique");
+        this.duplicates = meterRegistry.counter("datahub.dedup.items", "result", "duplicate");
+        Gauge.builder("datahub.dedup.duplicate.ratio", this, NearDuplicateDetector::duplicateRatio)
+                .description("Share of classified items that were near-duplicates")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * Sets the item's fingerprint and, if an earlier item of the pod is close enough, its
+     * canonical item. Does not persist anything.
+     *
+     * @return true if the item is a near-duplicate
+     */
+    public boolean classify(String podId, DataItem item) {
+        List<String> tokens = SimHash.tokens(item.getContent());
+        long simhash = SimHash.fingerprint(tokens, props.getShingleSize());
+        int maxDistance = tokens.size() < props.getMinTokens()
+                ? 0
+                : Math.clamp(props.getMaxHammingDistance(), 0, MAX_BANDED_DISTANCE);
+
+        String canonical = podRepository.findNearDuplicate(podId, simhash, maxDistance, item.getId());
+        item.setSimhash(simhash);
+        item.setCanonicalItemId(canonical);
+
+        if (canonical != null) {
+            duplicates.increment();
+            log.debug("Item {} of pod {} is a near-duplicate of {}", item.getId(), podId, canonical);
+            return true;
+        }
+        unique.increment();
+        return false;
+    }
+
+    /**
+     * Classifies an item stored before fingerprinting and persists the result.
+     */
+    public boolean classifyStored(String podId, DataItem item) {
+        boolean duplicate = classify(podId, item);
+        podRepository.updateSimhash(item.getId(), item.getSimhash(), item.getCanonicalItemId());
+        return duplicate;
+    }
+
+    /**
+     * Re-links the items that duplicated an item that was changed or removed, oldest first:
+     * each either links to another canonical item or becomes canonical itself.
+     *
+     * @return the items that became canonical and now need indexing
+     */
+    public List<DataItem> releaseDuplicatesOf(String podId, String canonicalItemId) {
+        List<DataItem> promoted = new ArrayList<>();
+        for (DataItem duplicate : podRepository.findDuplicatesOf(podId, canonicalItemId)) {
+            if (!classifyStored(podId, duplicate)) {
+                promoted.add(duplicate);
+            }
+        }
+        return promoted;
+    }
+
+    private double duplicateRatio() {
+        double total = unique.count() + duplicates.count();
+        return total == 0 ? 0.0 : duplicates.count() / total;
+    }
+}
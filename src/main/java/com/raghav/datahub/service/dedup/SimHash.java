@@ -0,0 +1,72 @@
+package com.raghav.datahub.service.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 64-bit SimHash over word shingles (Charikar). Texts that share most of their shingles get
+ * fingerprints a small Hamming distance apart.
+ */
+public final class SimHash {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SimHash() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static long fingerprint(List<String> tokens, int shingleSize) {
+        int[] weights = new int[64];
+        int size = Math.max(1, Math.min(shingleSize, tokens.size()));
+        for (int i = 0; i + size <= tokens.size(); i++) {
+            long h = hash(String.join(" ", tokens.subList(i, i + size)));
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((h >>> bit) & 1) == 1 ? 1 : -1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * FNV-1a followed by the MurmurHash3 finalizer, so that every input bit affects every
+     * output bit (plain FNV is weak on short strings).
+     */
+    private static long hash(String shingle) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : shingle.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
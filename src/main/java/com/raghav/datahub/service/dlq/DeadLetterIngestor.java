@@ -0,0 +1,131 @@
+package com.raghav.datahub.service.dlq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.event.ItemIndexingEvent;
+import com.raghav.datahub.domain.model.DeadLetter;
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+import com.raghav.datahub.domain.repository.DeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves DLQ records into the dead_letters table, where they can be filtered and replayed.
+ * Items that have already failed maxAttempts times are quarantined instead: kept for
+ * inspection and forwarded to the quarantine topic, but never replayed.
+ *
+ * Ingestion is idempotent on the record's DLQ partition and offset, so a record redelivered
+ * after a crash between insert and commit is stored once.
+ */
+@Slf4j
+@Component
+public class DeadLetterIngestor {
+
+    public static final String DLQ_TOPIC = "item-indexing-events-dlq";
+    public static final String QUARANTINE_TOPIC = "item-indexing-events-quarantine";
+
+    private static final String DEFAULT_SOURCE_TOPIC = "item-indexing-events";
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaTemplate<String, String> dlqKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final IndexingProperties.Dlq props;
+
+    private final Counter ingested;
+    private final Counter quarantined;
+
+    public DeadLetterIngestor(DeadLetterRepository deadLetterRepository,
+            @Qualifier("dlqKafkaTemplate") KafkaTemplate<String, String> dlqKafkaTemplate,
+            ObjectMapper objectMapper,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.dlqKafkaTemplate = dlqKafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.props = indexingProperties.getDlq();
+        this.ingested = meterRegistry.counter("datahub.dlq.ingested");
+        this.quarantined = meterRegistry.counter("datahub.dlq.quarantined");
+    }
+
+    @KafkaListener(topics = DLQ_TOPIC, groupId = "social-distro-dlq-ingest", containerFactory = "kafkaListenerContainerFactory")
+    public void onDeadLetter(ConsumerRecord<String, String> record, Acknowledgment ack) throws Exception {
+        if (deadLetterRepository.existsAt(record.partition(), record.offset())) {
+            log.info("DLQ record {}-{} already ingested, skipping", record.partition(), record.offset());
+            ack.acknowledge();
+            return;
+        }
+        String payload = unwrap(record.value());
+        ItemIndexingEvent event = parse(payload);
+
+        int attempts = Math.max(1, DlqHeaders.getInt(record.headers(), DlqHeaders.ATTEMPTS));
+        Long failedAt = DlqHeaders.getLong(record.headers(), DlqHeaders.FAILED_AT);
+        String sourceTopic = DlqHeaders.get(record.headers(), DlqHeaders.SOURCE_TOPIC);
+
+        DeadLetter deadLetter = new DeadLetter(
+                null,
+                sourceTopic != null ? sourceTopic : DEFAULT_SOURCE_TOPIC,
+                record.key(),
+                payload,
+                event != null ? event.getPodId() : null,
+                event != null ? event.getJobId() : null,
+                event != null ? event.getDataItemId() : null,
+                DlqHeaders.get(record.headers(), DlqHeaders.ERROR_CLASS),
+                DlqHeaders.get(record.headers(), DlqHeaders.ERROR_MESSAGE),
+                attempts,
+                failedAt != null ? Instant.ofEpochMilli(failedAt) : Instant.ofEpochMilli(record.timestamp()));
+
+        if (attempts >= props.getMaxAttempts()) {
+            // Forward first: if this fails the record is redelivered and nothing is lost
+            ProducerRecord<String, String> forward = new ProducerRecord<>(QUARANTINE_TOPIC, record.key(), payload);
+            record.headers().forEach(h -> forward.headers().add(h));
+            dlqKafkaTemplate.send(forward).get(props.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+            deadLetter.setStatus(DeadLetterStatus.QUARANTINED);
+            quarantined.increment();
+            log.warn("Quarantined item {} of pod {} after {} failed attempts",
+                    deadLetter.getDataItemId(), deadLetter.getPodId(), attempts);
+        } else {
+            deadLetter.setStatus(DeadLetterStatus.PENDING);
+        }
+
+        deadLetter.setDlqPartition(record.partition());
+        deadLetter.setDlqOffset(record.offset());
+        if (deadLetterRepository.saveIfAbsent(deadLetter)) {
+            ingested.increment();
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * Records written before the DLQ used a String serializer are JSON-quoted strings.
+     */
+    private String unwrap(String value) {
+        if (value != null && value.startsWith("\"")) {
+            try {
+                return objectMapper.readValue(value, String.class);
+            } catch (Exception e) {
+                return value;
+            }
+        }
+        return value != null ? value : "";
+    }
+
+    private ItemIndexingEvent parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, ItemIndexingEvent.class);
+        } catch (Exception e) {
+            // Unparseable records are still kept, they just cannot be filtered by pod
+            return null;
+        }
+    }
+}
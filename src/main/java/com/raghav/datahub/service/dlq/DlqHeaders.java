@@ -0,0 +1,75 @@
+package com.raghav.datahub.service.dlq;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Record headers used on the item DLQ and on replayed item events. Values are UTF-8 strings.
+ */
+public final class DlqHeaders {
+
+    /**
+     * Failures so far, including the one that sent the record to the DLQ.
+     */
+    public static final String ATTEMPTS = "x-dlq-attempts";
+
+    /**
+     * Set on replayed item events: failures the item had before this replay.
+     */
+    public static final String REPLAY_ATTEMPTS = "x-dlq-replay-attempts";
+
+    public static final String ERROR_CLASS = "x-dlq-error-class";
+    public static final String ERROR_MESSAGE = "x-dlq-error-message";
+    public static final String SOURCE_TOPIC = "x-dlq-source-topic";
+    public static final String FAILED_AT = "x-dlq-failed-at";
+
+    private DlqHeaders() {
+    }
+
+    public static void put(Headers headers, String name, Object value) {
+        if (value != null) {
+            headers.add(name, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public static String get(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    public static int getInt(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return toInt(header != null ? header.value() : null);
+    }
+
+    /**
+     * Parses a long header value; null if absent or malformed.
+     */
+    public static Long getLong(Headers headers, String name) {
+        String value = get(headers, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a numeric header value; 0 if absent or malformed.
+     */
+    public static int toInt(byte[] value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(value, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.raghav.datahub.service.dlq;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.DeadLetter;
+import com.raghav.datahub.domain.model.DeadLetterFilter;
+import com.raghav.datahub.domain.model.DeadLetterStatus;
+import com.raghav.datahub.domain.repository.DeadLetterRepository;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays PENDING dead letters back onto their item topic at a bounded rate, so recovering
+ * from an embedding outage re-processes only the failed items.
+ *
+ * Each replayed record carries the item's failure count in a header; if it fails again the
+ * worker sends it back to the DLQ with the count incremented, and the ingestor quarantines
+ * it once the count reaches maxAttempts.
+ */
+@Slf4j
+@Service
+public class DlqReplayService {
+
+    private static final Duration FINISHED_RUN_RETENTION = Duration.ofHours(24);
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaTemplate<String, String> dlqKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingProperties.Dlq props;
+
+    private final Map<String, ReplayRun> runs = new ConcurrentHashMap<>();
+    private final AtomicLong pendingDepth = new AtomicLong();
+    private final AtomicLong quarantinedDepth = new AtomicLong();
+    private final Counter replayedCounter;
+
+    public DlqReplayService(DeadLetterRepository deadLetterRepository,
+            @Qualifier("dlqKafkaTemplate") KafkaTemplate<String, String> dlqKafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.dlqKafkaTemplate = dlqKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.props = indexingProperties.getDlq();
+        this.replayedCounter = meterRegistry.counter("datahub.dlq.replayed");
+
+        Gauge.builder("datahub.dlq.depth", pendingDepth, AtomicLong::get)
+                .description("Dead letters waiting for replay")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("datahub.dlq.depth", quarantinedDepth, AtomicLong::get)
+                .description("Dead letters quarantined after too many attempts")
+                .tag("status", "quarantined")
+                .register(meterRegistry);
+        Gauge.builder("datahub.dlq.replay.remaining", this, DlqReplayService::remainingInRunningReplays)
+                .description("Dead letters still to be replayed by running replays")
+                .register(meterRegistry);
+    }
+
+    public ReplayRun startReplay(DeadLetterFilter filter, Double ratePerSecond) {
+        double rate = ratePerSecond != null && ratePerSecond > 0 ? ratePerSecond : props.getReplayRatePerSecond();
+        ReplayRun run = new ReplayRun(UUID.randomUUID().toString(), filter, rate,
+                deadLetterRepository.countPending(filter));
+        runs.put(run.getReplayId(), run);
+
+        Thread.ofVirtual().name("dlq-replay-" + run.getReplayId()).start(() -> execute(run));
+        log.info("Started DLQ replay {} for {} dead letters at {}/s, filter {}",
+                run.getReplayId(), run.getMatched(), rate, filter);
+        return run;
+    }
+
+    public ReplayRun getReplay(String replayId) {
+        return runs.get(replayId);
+    }
+
+    public ReplayRun cancelReplay(String replayId) {
+        ReplayRun run = runs.get(replayId);
+        if (run != null) {
+            run.requestCancel();
+        }
+        return run;
+    }
+
+    public long getPendingDepth() {
+        return pendingDepth.get();
+    }
+
+    public long getQuarantinedDepth() {
+        return quarantinedDepth.get();
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.indexing.dlq.depth-refresh-ms:30000}")
+    public void refreshDepth() {
+        pendingDepth.set(deadLetterRepository.countByStatus(DeadLetterStatus.PENDING));
+        quarantinedDepth.set(deadLetterRepository.countByStatus(DeadLetterStatus.QUARANTINED));
+
+        Instant cutoff = Instant.now().minus(FINISHED_RUN_RETENTION);
+        runs.values().removeIf(r -> r.getFinishedAt() != null && r.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void execute(ReplayRun run) {
+        RateLimiter rateLimiter = RateLimiter.of("dlq-replay-" + run.getReplayId(), RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofNanos((long) (1_000_000_000L / run.getRatePerSecond())))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        try {
+            while (!run.isCancelRequested()) {
+                Integer replayed = transactionTemplate.execute(status -> replayBatch(run, rateLimiter));
+                if (replayed == null || replayed == 0) {
+                    break;
+                }
+            }
+            run.finish(run.isCancelRequested() ? ReplayRun.Status.CANCELLED : ReplayRun.Status.COMPLETED, null);
+            log.info("DLQ replay {} {}: {} dead letters replayed",
+                    run.getReplayId(), run.getStatus(), run.getReplayedCount());
+        } catch (Exception e) {
+            run.finish(ReplayRun.Status.FAILED, e.getMessage());
+            log.error("DLQ replay {} failed after {} dead letters", run.getReplayId(), run.getReplayedCount(), e);
+        }
+    }
+
+    /**
+     * Sends one locked batch and marks it replayed in the same transaction. If a send fails
+     * the batch rolls back and stays PENDING; records already sent may be replayed again,
+     * which is harmless because chunk writes are idempotent.
+     */
+    private int replayBatch(ReplayRun run, RateLimiter rateLimiter) {
+        // About a second of work per transaction, so row locks are not held across a slow replay
+        int limit = (int) Math.max(1, Math.min(props.getReplayBatchSize(), run.getRatePerSecond()));
+        List<DeadLetter> batch = deadLetterRepository.lockPendingBatch(run.getFilter(), limit);
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (DeadLetter deadLetter : batch) {
+            if (run.isCancelRequested()) {
+                break;
+            }
+            RateLimiter.waitForPermission(rateLimiter);
+
+            ProducerRecord<String, String> record = new ProducerRecord<>(
+                    deadLetter.getSourceTopic(), deadLetter.getMessageKey(), deadLetter.getPayload());
+            DlqHeaders.put(record.headers(), DlqHeaders.REPLAY_ATTEMPTS, deadLetter.getAttempts());
+            try {
+                dlqKafkaTemplate.send(record).get(props.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while replaying dead letter " + deadLetter.getId(), e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to replay dead letter " + deadLetter.getId(), e);
+            }
+            ids.add(deadLetter.getId());
+        }
+        deadLetterRepository.markReplayed(ids);
+        run.getReplayed().addAndGet(ids.size());
+        replayedCounter.increment(ids.size());
+        return ids.size();
+    }
+
+    private double remainingInRunningReplays() {
+        return runs.values().stream()
+                .filter(r -> r.getStatus() == ReplayRun.Status.RUNNING)
+                .mapToLong(r -> Math.max(0, r.getMatched() - r.getReplayedCount()))
+                .sum();
+    }
+}
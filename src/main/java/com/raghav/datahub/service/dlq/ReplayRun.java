@@ -0,0 +1,53 @@
+package com.raghav.datahub.service.dlq;
+
+import com.raghav.datahub.domain.model.DeadLetterFilter;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one DLQ replay. Runs are kept in memory on the instance that started them.
+ */
+@Getter
+public class ReplayRun {
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String replayId;
+    private final DeadLetterFilter filter;
+    private final double ratePerSecond;
+    private final long matched;
+    private final Instant startedAt;
+
+    private final AtomicLong replayed = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile boolean cancelRequested;
+
+    ReplayRun(String replayId, DeadLetterFilter filter, double ratePerSecond, long matched) {
+        this.replayId = replayId;
+        this.filter = filter;
+        this.ratePerSecond = ratePerSecond;
+        this.matched = matched;
+        this.startedAt = Instant.now();
+    }
+
+    public long getReplayedCount() {
+        return replayed.get();
+    }
+
+    void finish(Status status, String errorMessage) {
+        this.status = status;
+        this.errorMessage = errorMessage;
+        this.finishedAt = Instant.now();
+    }
+
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+}
@@ -2,6 +2,18 @@ package com.raghav.datahub.service.embedding;
 
 import java.util.List;
 
+/**
+ * Embeddings are always requested for an explicit model: vectors from different models
+ * are not comparable, so callers pass the model the target pod is indexed with.
+ */
 public interface EmbeddingClient {
-    List<Double> generateEmbedding(String text);
-}
\ No newline at end of file
+    List<Double> generateEmbedding(String text, String model);
+
+    /**
+     * Embeds several texts in one call. Results are in input order.
+     * Implementations without a native batch API fall back to one call per text.
+     */
+    default List<List<Double>> generateEmbeddings(List<String> texts, String model) {
+        return texts.stream().map(text -> generateEmbedding(text, model)).toList();
+    }
+}
@@ -0,0 +1,263 @@
+package com.raghav.datahub.service.embedding;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.exception.ConcurrencyLimitExceededException;
+import com.raghav.datahub.domain.model.MigrationStatus;
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+import com.raghav.datahub.domain.port.VectorStore;
+import com.raghav.datahub.domain.repository.PodEmbeddingModelRepository;
+import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
+import com.raghav.datahub.service.indexing.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-embeds pods to a new embedding model without taking them offline.
+ *
+ * New vectors are written to the target model's own table while queries keep using the
+ * active model. Once every chunk of a pod has an up-to-date copy under the target, the
+ * pod's active model is flipped and its old vectors are dropped in one transaction.
+ *
+ * A heartbeat on the pod's model record keeps a pod on a single migrating node at a time.
+ * Batches are embedded outside any transaction; the record is only row-locked to save a
+ * batch or switch the pod. The lock waits out item workers holding it in share mode while
+ * they save chunks under the old model, so those chunks are migrated rather than left
+ * behind by the switch.
+ */
+@Slf4j
+@Service
+public class EmbeddingMigrationService {
+
+    private final PodEmbeddingModelRepository modelRepository;
+    private final EmbeddingModelRegistry modelRegistry;
+    private final VectorStore vectorStore;
+    private final EmbeddingClient embeddingClient;
+    private final SharedEmbeddings sharedEmbeddings;
+    private final AdaptiveConcurrencyLimiter embeddingLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingProperties indexingProperties;
+    private final RateLimiter rateLimiter;
+    private final Counter migratedCounter;
+    private final AtomicLong migratingPods = new AtomicLong();
+
+    public EmbeddingMigrationService(PodEmbeddingModelRepository modelRepository,
+            EmbeddingModelRegistry modelRegistry,
+            VectorStore vectorStore,
+            EmbeddingClient embeddingClient,
+            SharedEmbeddings sharedEmbeddings,
+            AdaptiveConcurrencyLimiter embeddingLimiter,
+            TransactionTemplate transactionTemplate,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.modelRepository = modelRepository;
+        this.modelRegistry = modelRegistry;
+        this.vectorStore = vectorStore;
+        this.embeddingClient = embeddingClient;
+        this.sharedEmbeddings = sharedEmbeddings;
+        this.embeddingLimiter = embeddingLimiter;
+        this.transactionTemplate = transactionTemplate;
+        this.indexingProperties = indexingProperties;
+
+        double rate = indexingProperties.getMigration().getItemsPerSecond();
+        this.rateLimiter = RateLimiter.of("embedding-migration", RateLimiterConfig.custom()
+                .limitForPeriod(Math.max(1, (int) Math.ceil(rate)))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        this.migratedCounter = meterRegistry.counter("datahub.embedding.migration.items");
+        Gauge.builder("datahub.embedding.migration.pods", migratingPods, AtomicLong::get)
+                .description("Pods being re-embedded to a new model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts (or retargets) migrations of the given pods, or of every known pod if podIds
+     * is empty. Pods already on the target model are returned unchanged, and pods without
+     * chunks switch immediately.
+     */
+    public List<PodEmbeddingModel> startMigration(String targetModel, List<String> podIds) {
+        List<String> pods = podIds == null || podIds.isEmpty()
+                ? modelRepository.findAll().stream().map(PodEmbeddingModel::getPodId).toList()
+                : podIds;
+        List<PodEmbeddingModel> started = new ArrayList<>(pods.size());
+        for (String podId : pods) {
+            PodEmbeddingModel model = modelRepository.findByPodId(podId);
+            if (model == null) {
+                // Every pod gets its row when created, so the pod is gone
+                log.info("Pod {} no longer exists, not migrating it", podId);
+                continue;
+            }
+            if (!targetModel.equals(model.getActiveModel())) {
+                long chunks = vectorStore.countByPodId(podId, model.getActiveModel());
+                model.setTargetModel(targetModel);
+                model.setMigrationStatus(chunks == 0 ? MigrationStatus.COMPLETED : MigrationStatus.MIGRATING);
+                model.setTotalItems(chunks);
+                model.setMigratedItems(0);
+                model.setStartedAt(Instant.now());
+                model.setFinishedAt(chunks == 0 ? model.getStartedAt() : null);
+                model.setErrorMessage(null);
+                if (chunks == 0) {
+                    model.setActiveModel(targetModel);
+                }
+                model = modelRepository.save(model);
+                modelRegistry.invalidate(podId);
+                log.info("Migrating pod {} to {} ({} chunks)", podId, targetModel, chunks);
+            }
+            started.add(model);
+        }
+        return started;
+    }
+
+    public List<PodEmbeddingModel> listMigrations() {
+        return modelRepository.findAll();
+    }
+
+    public PodEmbeddingModel getMigration(String podId) {
+        return modelRepository.findByPodId(podId);
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.indexing.migration.poll-interval-ms:1000}")
+    public void migrate() {
+        List<String> podIds = modelRepository.findMigratingPodIds();
+        migratingPods.set(podIds.size());
+        long leaseMs = indexingProperties.getMigration().getLeaseMs();
+        for (String podId : podIds) {
+            try {
+                if (!modelRepository.claimMigration(podId, Instant.now().minusMillis(leaseMs))) {
+                    // Migrated by another node, or no longer migrating
+                    continue;
+                }
+                while (migrateBatch(podId)) {
+                    // keep going until the pod is switched or no longer migrating
+                }
+                // Cheap, and covers a switch committed by the last batch
+                modelRegistry.invalidate(podId);
+            } catch (Exception e) {
+                // Transient (embedding service down, limiter full): retried once the lease expires
+                log.warn("Embedding migration of pod {} interrupted: {}", podId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Re-embeds one batch of the pod's chunks, or switches the pod if none are left. The
+     * batch is picked and embedded without holding any lock; the pod's row is locked only to
+     * save it, after checking the migration was not retargeted meanwhile. Chunks whose content
+     * changed in between are picked again, since pending chunks are matched on content.
+     *
+     * @return true if there is more work for this pod
+     */
+    private boolean migrateBatch(String podId) {
+        PodEmbeddingModel model = modelRepository.findByPodId(podId);
+        if (model == null || !model.isMigrating()) {
+            return false;
+        }
+        String source = model.getActiveModel();
+        String target = model.getTargetModel();
+        // About a second of embedding per batch, so progress is saved often
+        IndexingProperties.Migration props = indexingProperties.getMigration();
+        int limit = (int) Math.max(1, Math.min(props.getBatchSize(), props.getItemsPerSecond()));
+        List<VectorChunkEntity> batch = vectorStore.findPendingMigration(podId, source, target, limit);
+        if (batch.isEmpty()) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> switchOver(podId, source, target)));
+        }
+
+        RateLimiter.waitForPermission(rateLimiter, batch.size());
+        List<float[]> embeddings;
+        try {
+            embeddings = sharedEmbeddings.embed(batch.stream().map(VectorChunkEntity::getContent).toList(), target,
+                    texts -> embed(texts, target));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while embedding", e);
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> saveBatch(podId, source, target, batch, embeddings)));
+    }
+
+    private boolean saveBatch(String podId, String source, String target, List<VectorChunkEntity> batch,
+            List<float[]> embeddings) {
+        PodEmbeddingModel model = modelRepository.lockMigrating(podId);
+        if (model == null) {
+            return false;
+        }
+        if (!source.equals(model.getActiveModel()) || !target.equals(model.getTargetModel())) {
+            // Retargeted while the batch was embedded; start over against the new target
+            return true;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            VectorChunkEntity chunk = batch.get(i);
+            VectorChunkEntity migrated = new VectorChunkEntity();
+            migrated.setId(chunk.getId());
+            migrated.setPodId(podId);
+            migrated.setDataItemId(chunk.getDataItemId());
+            migrated.setChunkIndex(chunk.getChunkIndex());
+            migrated.setContent(chunk.getContent());
+            migrated.setContentHash(SharedEmbeddings.contentHash(chunk.getContent()));
+            migrated.setEmbedding(embeddings.get(i));
+            migrated.setModelVersion(target);
+            vectorStore.saveChunk(migrated);
+        }
+        model.setMigratedItems(Math.min(model.getTotalItems(), model.getMigratedItems() + batch.size()));
+        model.setHeartbeatAt(Instant.now());
+        modelRepository.save(model);
+        migratedCounter.increment(batch.size());
+        return true;
+    }
+
+    private boolean switchOver(String podId, String source, String target) {
+        PodEmbeddingModel model = modelRepository.lockMigrating(podId);
+        if (model == null) {
+            return false;
+        }
+        if (!source.equals(model.getActiveModel()) || !target.equals(model.getTargetModel())) {
+            return true;
+        }
+        // Item workers may have saved chunks since the batch was looked for; the lock keeps new ones out
+        if (!vectorStore.findPendingMigration(podId, source, target, 1).isEmpty()) {
+            return true;
+        }
+        int dropped = vectorStore.deleteByPodId(podId, source);
+        model.setActiveModel(target);
+        model.setMigrationStatus(MigrationStatus.COMPLETED);
+        model.setFinishedAt(Instant.now());
+        modelRepository.save(model);
+        log.info("Pod {} switched from {} to embedding model {} ({} old chunks dropped)",
+                podId, source, target, dropped);
+        return false;
+    }
+
+    private List<List<Double>> embed(List<String> texts, String model) {
+        // Migrations yield to live indexing traffic: never ask for a priority permit
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = embeddingLimiter
+                    .acquire(Duration.ofMillis(indexingProperties.getLimiter().getMaxQueueWaitMs()), false)
+                    .orElseThrow(() -> new ConcurrencyLimitExceededException("No embedding permit available"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an embedding permit", e);
+        }
+        try {
+            List<List<Double>> embeddings = embeddingClient.generateEmbeddings(texts, model);
+            permit.onSuccess(texts.size());
+            return embeddings;
+        } catch (RuntimeException e) {
+            permit.onIgnore();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.raghav.datahub.service.embedding;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.config.LlmProperties;
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+import com.raghav.datahub.domain.repository.PodEmbeddingModelRepository;
+import com.raghav.datahub.infrastructure.cache.ExpiringCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves which embedding model a pod's vectors belong to. Indexing and querying must
+ * agree on it, otherwise query vectors are compared against vectors from another space.
+ *
+ * Lookups are cached briefly, since every query and indexed item asks. The node that
+ * switches a pod invalidates its entry; other nodes may use the old model for up to
+ * active-model-cache-ms, which writers guard against by re-checking the model under a
+ * share lock before saving.
+ */
+@Component
+public class EmbeddingModelRegistry {
+
+    private static final int MAX_CACHED_PODS = 10_000;
+
+    private final PodEmbeddingModelRepository repository;
+    private final LlmProperties llmProperties;
+    private final ExpiringCache<String, String> activeModels;
+
+    public EmbeddingModelRegistry(PodEmbeddingModelRepository repository, LlmProperties llmProperties,
+            IndexingProperties indexingProperties) {
+        this.repository = repository;
+        this.llmProperties = llmProperties;
+        this.activeModels = new ExpiringCache<>(MAX_CACHED_PODS,
+                indexingProperties.getMigration().getActiveModelCacheMs());
+    }
+
+    /**
+     * Never creates the pod's row: pods get one when they are created, and a lookup racing
+     * a pod deletion must not bring it back. A pod without one gets the default model, which
+     * is only used by work that is dropped when it finds the pod gone.
+     */
+    public String activeModel(String podId) {
+        String model = activeModels.get(podId, id -> {
+            PodEmbeddingModel row = repository.findByPodId(id);
+            return row != null ? row.getActiveModel() : null;
+        });
+        return model != null ? model : llmProperties.getEmbeddingModel();
+    }
+
+    /**
+     * Drops the cached model of a pod whose model just changed.
+     */
+    public void invalidate(String podId) {
+        activeModels.invalidate(podId);
+    }
+
+    public boolean isAllowed(String model) {
+        return model.equals(llmProperties.getEmbeddingModel())
+                || llmProperties.getAllowedEmbeddingModels().contains(model);
+    }
+
+    /**
+     * Sets the model of a pod that has no chunks yet. Pods with chunks change model
+     * through EmbeddingMigrationService.
+     */
+    public void assign(String podId, String model) {
+        repository.getOrCreate(podId, model);
+        invalidate(podId);
+    }
+}
@@ -0,0 +1,180 @@
+package com.raghav.datahub.service.embedding;
+
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.domain.exception.EmbeddingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Query-path embedding with opt-in request hedging.
+ *
+ * If the first call has not answered within the recent p95 latency, a second call is
+ * sent; with least-outstanding routing it lands on another replica when one exists.
+ * The first successful response wins and the other call's virtual thread is interrupted,
+ * which closes its socket; the breakers ignore that cancellation. Hedges are paid for from a budget that refills by
+ * maxHedgePercent of a token per request, capping the extra load.
+ */
+@Slf4j
+@Service
+public class HedgedEmbeddingService {
+
+    private static final double MAX_BUDGET = 10.0;
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final EmbeddingClient embeddingClient;
+    private final QueryProperties.Hedging props;
+
+    private final Counter requests;
+    private final Counter hedgesSent;
+    private final Counter hedgeWins;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int latencyCursor;
+    private int samplesSinceRecompute;
+    private volatile long hedgeDelayMs;
+    private double budget;
+
+    public HedgedEmbeddingService(EmbeddingClient embeddingClient, QueryProperties queryProperties,
+            MeterRegistry registry) {
+        this.embeddingClient = embeddingClient;
+        this.props = queryProperties.getHedging();
+        this.latencies = new long[Math.max(1, props.getWindowSize())];
+        this.hedgeDelayMs = props.getMinDelayMs();
+
+        this.requests = registry.counter("datahub.embedding.hedge.requests");
+        this.hedgesSent = registry.counter("datahub.embedding.hedge.sent");
+        this.hedgeWins = registry.counter("datahub.embedding.hedge.wins");
+        Gauge.builder("datahub.embedding.hedge.delay", this, s -> s.hedgeDelayMs)
+                .description("Current hedge delay in milliseconds")
+                .register(registry);
+    }
+
+    public List<Double> embed(String text, String model) {
+        if (!props.isEnabled()) {
+            return embeddingClient.generateEmbedding(text, model);
+        }
+        requests.increment();
+        depositBudget();
+
+        long start = System.nanoTime();
+        Attempt primary = Attempt.start(embeddingClient, text, model);
+        try {
+            List<Double> result = primary.future.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+            recordLatency(start);
+            return result;
+        } catch (TimeoutException e) {
+            if (!withdrawBudget()) {
+                List<Double> result;
+                try {
+                    result = primary.future.join();
+                } catch (CompletionException ce) {
+                    throw unwrap(ce.getCause());
+                }
+                recordLatency(start);
+                return result;
+            }
+            return race(primary, text, model, start);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new EmbeddingUnavailableException("Interrupted while waiting for embedding", e);
+        }
+    }
+
+    private List<Double> race(Attempt primary, String text, String model, long start) {
+        hedgesSent.increment();
+        Attempt hedge = Attempt.start(embeddingClient, text, model);
+
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : List.of(primary, hedge)) {
+            attempt.future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(ex);
+                }
+            });
+        }
+
+        try {
+            Attempt won = winner.join();
+            Attempt lost = won == primary ? hedge : primary;
+            lost.thread.interrupt();
+            if (won == hedge) {
+                hedgeWins.increment();
+            }
+            recordLatency(start);
+            return won.future.join();
+        } catch (Exception e) {
+            throw unwrap(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(MAX_BUDGET, budget + props.getMaxHedgePercent() / 100.0);
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private synchronized void recordLatency(long startNanos) {
+        latencies[latencyCursor] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        latencyCursor = (latencyCursor + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+        // A window smaller than RECOMPUTE_EVERY is recomputed each time it fills up
+        if (++samplesSinceRecompute >= Math.min(RECOMPUTE_EVERY, latencies.length)) {
+            samplesSinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(props.getPercentile() * sorted.length) - 1);
+            hedgeDelayMs = Math.max(props.getMinDelayMs(), sorted[Math.max(0, index)]);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable t) {
+        if (t instanceof RuntimeException re) {
+            return re;
+        }
+        return new EmbeddingUnavailableException("Embedding failed: " + t.getMessage(), t);
+    }
+
+    /**
+     * One embedding call on its own virtual thread, so the loser of a race can be interrupted.
+     */
+    private record Attempt(CompletableFuture<List<Double>> future, Thread thread) {
+
+        static Attempt start(EmbeddingClient client, String text, String model) {
+            CompletableFuture<List<Double>> future = new CompletableFuture<>();
+            Thread thread = Thread.ofVirtual().name("embedding-hedge").start(() -> {
+                try {
+                    future.complete(client.generateEmbedding(text, model));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+            return new Attempt(future, thread);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.raghav.datahub.service.embedding;
 
-import com.raghav.datahub.config.LlmProperties;
 import com.raghav.datahub.domain.exception.EmbeddingUnavailableException;
+import com.raghav.datahub.infrastructure.http.CancelledCallPredicate;
+import com.raghav.datahub.infrastructure.http.LlmEndpointRouter;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 
 import java.util.Collections;
 import java.util.List;
@@ -17,21 +18,23 @@ import java.util.List;
 @Component
 public class OllamaEmbeddingClient implements EmbeddingClient {
 
-    private final RestClient restClient;
-    private final LlmProperties props;
+    @Qualifier("embeddingRouter")
+    private final LlmEndpointRouter router;
 
     @Override
     @CircuitBreaker(name = "llm", fallbackMethod = "fallbackEmbedding")
-    @Cacheable(value = "embedding_cache", key = "#text.hashCode()")
-    public List<Double> generateEmbedding(String text) {
-        var request = new EmbeddingRequest(props.getEmbeddingModel(), text);
+    // Keyed on the SHA-256 of the text: a 32-bit hash lets colliding texts share an embedding
+    @Cacheable(value = "embedding_cache",
+            key = "#model + ':' + T(com.raghav.datahub.service.embedding.SharedEmbeddings).contentHash(#text)")
+    public List<Double> generateEmbedding(String text, String model) {
+        var request = new EmbeddingRequest(model, text);
 
         try {
-            var response = restClient.post()
+            var response = router.execute(restClient -> restClient.post()
                     .uri("/api/embeddings")
                     .body(request)
                     .retrieve()
-                    .body(EmbeddingResponse.class);
+                    .body(EmbeddingResponse.class));
 
             if (response == null || response.embedding() == null) {
                 log.warn("Ollama returned empty embedding for text: {}",
@@ -42,19 +45,59 @@ public class OllamaEmbeddingClient implements EmbeddingClient {
             return response.embedding();
 
         } catch (Exception e) {
-            log.error("Failed to fetch embedding from Ollama", e);
+            if (!CancelledCallPredicate.isCancellation(e)) {
+                log.error("Failed to fetch embedding from Ollama", e);
+            }
             throw e;
         }
     }
 
-    public List<Double> fallbackEmbedding(String text, Throwable t) {
+    /**
+     * Batched variant backed by Ollama's /api/embed, which accepts a list of inputs.
+     */
+    @Override
+    @CircuitBreaker(name = "llm", fallbackMethod = "fallbackEmbeddings")
+    public List<List<Double>> generateEmbeddings(List<String> texts, String model) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        var request = new BatchEmbeddingRequest(model, texts);
+
+        var response = router.execute(restClient -> restClient.post()
+                .uri("/api/embed")
+                .body(request)
+                .retrieve()
+                .body(BatchEmbeddingResponse.class));
+
+        if (response == null || response.embeddings() == null || response.embeddings().size() != texts.size()) {
+            throw new EmbeddingUnavailableException("Ollama returned an incomplete batch embedding response");
+        }
+        return response.embeddings();
+    }
+
+    public List<Double> fallbackEmbedding(String text, String model, Throwable t) {
+        if (CancelledCallPredicate.isCancellation(t)) {
+            log.debug("Embedding call cancelled: {}", t.getMessage());
+            throw new EmbeddingUnavailableException("Embedding call cancelled", t);
+        }
         log.error("Embedding generation failed after circuit breaker. Error: {}", t.getMessage());
         throw new EmbeddingUnavailableException("Embedding service unavailable: " + t.getMessage(), t);
     }
 
+    public List<List<Double>> fallbackEmbeddings(List<String> texts, String model, Throwable t) {
+        log.error("Batch embedding generation failed after circuit breaker. Error: {}", t.getMessage());
+        throw new EmbeddingUnavailableException("Embedding service unavailable: " + t.getMessage(), t);
+    }
+
     private record EmbeddingRequest(String model, String prompt) {
     }
 
+    private record BatchEmbeddingRequest(String model, List<String> input) {
+    }
+
+    private record BatchEmbeddingResponse(List<List<Double>> embeddings) {
+    }
+
     private record EmbeddingResponse(List<Double> embedding) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.raghav.datahub.service.embedding;
+
+import com.raghav.datahub.domain.port.EmbeddingStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embeds texts through the shared EmbeddingStore: only texts no pod has embedded with the
+ * model before reach the embedding service, and identical texts within a call are sent once.
+ * Unlike the Redis cache this does not expire.
+ */
+@Component
+public class SharedEmbeddings {
+
+    private final EmbeddingStore embeddingStore;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public SharedEmbeddings(EmbeddingStore embeddingStore, MeterRegistry meterRegistry) {
+        this.embeddingStore = embeddingStore;
+        this.hits = meterRegistry.counter("datahub.embedding.store.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("datahub.embedding.store.lookups", "result", "miss");
+    }
+
+    /**
+     * Calls the embedding service for a batch of texts, in order.
+     */
+    @FunctionalInterface
+    public interface Embedder {
+        List<List<Double>> embed(List<String> texts) throws InterruptedException;
+    }
+
+    /**
+     * @return one embedding per text, in order
+     */
+    public List<float[]> embed(List<String> texts, String model, Embedder embedder) throws InterruptedException {
+        List<String> hashes = texts.stream().map(SharedEmbeddings::contentHash).toList();
+        Map<String, float[]> known = new LinkedHashMap<>(embeddingStore.findAll(model, new LinkedHashSet<>(hashes)));
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!known.containsKey(hashes.get(i))) {
+                missing.putIfAbsent(hashes.get(i), texts.get(i));
+            }
+        }
+        hits.increment(texts.size() - missing.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            List<List<Double>> embeddings = embedder.embed(new ArrayList<>(missing.values()));
+            Map<String, float[]> created = new LinkedHashMap<>();
+            int i = 0;
+            for (String hash : missing.keySet()) {
+                created.put(hash, toFloatArray(embeddings.get(i++)));
+            }
+            embeddingStore.saveAll(model, created);
+            known.putAll(created);
+        }
+        return hashes.stream().map(known::get).toList();
+    }
+
+    /**
+     * Lowercase hex SHA-256 of the UTF-8 text; matches encode(sha256(convert_to(text, 'UTF8')), 'hex').
+     */
+    public static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((text != null ? text : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Converts an embedding as returned by an EmbeddingClient; null elements become 0.
+     */
+    public static float[] toFloatArray(List<Double> list) {
+        if (list == null) {
+            return new float[0];
+        }
+        float[] arr = new float[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            Double val = list.get(i);
+            arr[i] = val != null ? val.floatValue() : 0.0f;
+        }
+        return arr;
+    }
+}
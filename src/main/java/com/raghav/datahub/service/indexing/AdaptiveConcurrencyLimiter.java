@@ -0,0 +1,190 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limiter in the style of Netflix concurrency-limits.
+ *
+ * The limit grows by one on a successful call while the limiter is at least half
+ * utilized, and shrinks by backoffRatio on a dropped call (overload, timeout) or on a
+ * call slower than latencyTolerance times the recent minimum latency. Batched calls
+ * report their latency per unit of work, otherwise every full batch would look congested
+ * next to a minimum set by single-item calls.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_RTT_WINDOW = 500;
+
+    private final IndexingProperties.Limiter props;
+    private final Timer queueTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int priorityWaiters;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public AdaptiveConcurrencyLimiter(String name, IndexingProperties.Limiter props, MeterRegistry registry) {
+        this.props = props;
+        this.limit = props.getInitialLimit();
+
+        Gauge.builder("datahub.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("datahub.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently holding a permit")
+                .tag("name", name)
+                .register(registry);
+        this.queueTimer = Timer.builder("datahub.limiter.queue.time")
+                .description("Time spent waiting for a concurrency permit")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    /**
+     * Waits up to maxWait for a permit; empty if none became available.
+     */
+    public Optional<Permit> acquire(Duration maxWait) throws InterruptedException {
+        return acquire(maxWait, false);
+    }
+
+    /**
+     * As {@link #acquire(Duration)}; while any priority caller is waiting, freed permits
+     * go to priority callers first.
+     */
+    public Optional<Permit> acquire(Duration maxWait, boolean priority) throws InterruptedException {
+        long start = System.nanoTime();
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        if (priority) {
+            priorityWaiters++;
+        }
+        try {
+            while (inFlight >= (int) limit || (!priority && priorityWaiters > 0)) {
+                if (remaining <= 0) {
+                    queueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return Optional.empty();
+                }
+                remaining = permitReleased.awaitNanos(remaining);
+            }
+            inFlight++;
+        } finally {
+            if (priority && --priorityWaiters == 0) {
+                // Regular callers may have been held back only by this waiter
+                permitReleased.signalAll();
+            }
+            lock.unlock();
+        }
+        queueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(new Permit(System.nanoTime()));
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            boolean congested = outcome == Outcome.DROPPED;
+            if (outcome == Outcome.SUCCESS) {
+                trackMinRtt(rttNanos);
+                congested = rttNanos > props.getLatencyTolerance() * minRttNanos;
+            }
+
+            if (congested) {
+                limit = Math.max(props.getMinLimit(), limit * props.getBackoffRatio());
+            } else if (outcome == Outcome.SUCCESS && inFlight * 2 >= limit) {
+                limit = Math.min(props.getMaxLimit(), limit + 1);
+            }
+
+            inFlight--;
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Minimum latency over a sliding window, so the baseline follows model or hardware changes.
+     */
+    private void trackMinRtt(long rttNanos) {
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        if (++windowSamples >= MIN_RTT_WINDOW) {
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * A granted slot; exactly one of the completion methods must be called.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void onSuccess() {
+            onSuccess(1);
+        }
+
+        /**
+         * The call did the work of several units (e.g. texts in one embedding request). Its
+         * latency is compared per unit, so batches of any size share the same baseline.
+         */
+        public void onSuccess(int units) {
+            release((System.nanoTime() - startNanos) / Math.max(1, units), Outcome.SUCCESS);
+        }
+
+        /**
+         * The call failed because the downstream is overloaded or unavailable.
+         */
+        public void onDropped() {
+            release(System.nanoTime() - startNanos, Outcome.DROPPED);
+        }
+
+        /**
+         * The call failed for a reason unrelated to load; the limit is left unchanged.
+         */
+        public void onIgnore() {
+            release(System.nanoTime() - startNanos, Outcome.IGNORED);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.DataItem;
+import com.raghav.datahub.domain.repository.PendingItemChangeRepository;
+import com.raghav.datahub.domain.repository.PodIndexRepository;
+import com.raghav.datahub.domain.repository.PodRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Turns item writes to auto-indexed pods into item events, micro-batched per pod.
+ *
+ * Writes are recorded in pending_item_changes in the writing transaction. Once a pod's
+ * changes are due they are taken and published through the outbox on the interactive lane
+ * in one transaction, so no change is lost or dispatched twice. The events carry no job:
+ * only the new items are embedded, without a fan-out over the whole pod. The same transaction
+ * adds them to the pod's fallback index.
+ */
+@Slf4j
+@Component
+public class AutoIndexDebouncer {
+
+    private final PendingItemChangeRepository changeRepository;
+    private final PodRepository podRepository;
+    private final ItemEventPublisher itemEventPublisher;
+    private final PodIndexRepository podIndexRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingProperties.AutoIndex props;
+
+    private final Counter dispatched;
+    private final Counter batches;
+
+    public AutoIndexDebouncer(PendingItemChangeRepository changeRepository,
+            PodRepository podRepository,
+            ItemEventPublisher itemEventPublisher,
+            PodIndexRepository podIndexRepository,
+            TransactionTemplate transactionTemplate,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.changeRepository = changeRepository;
+        this.podRepository = podRepository;
+        this.itemEventPublisher = itemEventPublisher;
+        this.podIndexRepository = podIndexRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.props = indexingProperties.getAutoIndex();
+        this.dispatched = meterRegistry.counter("datahub.indexing.auto.items");
+        this.batches = meterRegistry.counter("datahub.indexing.auto.batches");
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.indexing.auto-index.poll-interval-ms:500}")
+    public void flushDue() {
+        Instant now = Instant.now();
+        List<String> podIds = changeRepository.findDuePods(
+                now.minusMillis(props.getDebounceMs()),
+                now.minusMillis(props.getMaxWaitMs()),
+                props.getMaxItems(),
+                props.getMaxPodsPerPoll());
+        for (String podId : podIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flush(podId));
+            } catch (RuntimeException e) {
+                // Changes stay pending and are retried on the next poll
+                log.warn("Auto-index flush of pod {} failed: {}", podId, e.getMessage());
+            }
+        }
+    }
+
+    private void flush(String podId) {
+        List<String> itemIds = changeRepository.take(podId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<DataItem> items = podRepository.findItems(podId, itemIds);
+        int sent = itemEventPublisher.publish(podId, items);
+        podIndexRepository.addItems(podId, items.stream().map(DataItem::getId).toList());
+        dispatched.increment(sent);
+        batches.increment();
+        log.debug("Auto-indexing {} items of pod {}", sent, podId);
+    }
+}
@@ -0,0 +1,234 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deficit-round-robin dispatcher for parallel item processing.
+ *
+ * Each (lane, owner) pair is a flow with its own queue. Flows are served in rotation and
+ * each turn earns a quantum of characters (larger for the interactive lane), so among the
+ * records waiting here a tenant reindexing a huge pod gets the same share of workers as one
+ * with a handful of items.
+ *
+ * While another owner has a task ready, an owner already holding parallel.max-owner-share
+ * of the workers is passed over, so a bulk tenant cannot occupy every worker. A task of a
+ * small pod, polled by the interactive lane's own consumers, therefore gets one of the next
+ * workers to free up, within one scheduling round, however many bulk records are waiting.
+ * With no one else waiting an owner may use all workers.
+ */
+@Slf4j
+@Component
+public class FairItemScheduler {
+
+    private static final String UNKNOWN_OWNER = "unknown";
+
+    private final ExecutorService executor;
+    private final IndexingProperties.Parallel props;
+    private final Semaphore workers;
+    private final int ownerLimit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition taskAvailable = lock.newCondition();
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final Deque<Flow> activeFlows = new ArrayDeque<>();
+    private final Map<String, Integer> runningByOwner = new HashMap<>();
+    private int queued;
+
+    private final Thread dispatcher;
+
+    public FairItemScheduler(@Qualifier("indexingExecutorService") ExecutorService executor,
+            IndexingProperties indexingProperties, MeterRegistry registry) {
+        this.executor = executor;
+        this.props = indexingProperties.getParallel();
+        this.workers = new Semaphore(props.getWorkers());
+        this.ownerLimit = Math.max(1, (int) Math.ceil(props.getWorkers() * props.getMaxOwnerShare()));
+        this.dispatcher = Thread.ofVirtual().name("fair-item-dispatcher").unstarted(this::dispatchLoop);
+
+        Gauge.builder("datahub.indexing.fair.queued", this, FairItemScheduler::getQueued)
+                .description("Item tasks waiting for a worker")
+                .register(registry);
+        Gauge.builder("datahub.indexing.fair.flows", this, FairItemScheduler::getActiveFlows)
+                .description("Lane/owner flows with queued item tasks")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.start();
+    }
+
+    /**
+     * Tasks left in the queues are dropped; their records were never acknowledged and are redelivered.
+     */
+    @PreDestroy
+    public void stop() {
+        dispatcher.interrupt();
+    }
+
+    /**
+     * Executor that queues tasks on the flow of the given lane and owner.
+     *
+     * @param cost relative cost of each task, e.g. the item's content length
+     */
+    public Executor executorFor(IndexingLane lane, String ownerUserId, long cost) {
+        String owner = ownerUserId != null ? ownerUserId : UNKNOWN_OWNER;
+        String key = lane.name() + ":" + owner;
+        long quantum = lane == IndexingLane.INTERACTIVE
+                ? (long) props.getQuantumChars() * props.getInteractiveWeight()
+                : props.getQuantumChars();
+        return task -> submit(key, owner, quantum, Math.max(1, cost), task);
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveFlows() {
+        lock.lock();
+        try {
+            return activeFlows.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void submit(String key, String owner, long quantum, long cost, Runnable task) {
+        lock.lock();
+        try {
+            Flow flow = flows.computeIfAbsent(key, k -> new Flow(k, owner, quantum));
+            if (flow.tasks.isEmpty()) {
+                activeFlows.addLast(flow);
+            }
+            flow.tasks.addLast(new Task(owner, cost, task));
+            queued++;
+            taskAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                workers.acquire();
+                Task task = next();
+                executor.execute(() -> {
+                    try {
+                        task.runnable().run();
+                    } finally {
+                        finished(task.owner());
+                        workers.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RejectedExecutionException e) {
+                log.warn("Item executor rejected a task, stopping fair dispatcher: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * The flow at the head is served while its deficit covers the next task; otherwise it
+     * earns its quantum and moves to the back of the rotation. Emptied flows are forgotten,
+     * so an idle tenant cannot bank credit.
+     */
+    private Task next() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                while (activeFlows.isEmpty()) {
+                    taskAvailable.await();
+                }
+                skipOwnersAtLimit();
+                Flow flow = activeFlows.peekFirst();
+                Task head = flow.tasks.peekFirst();
+                if (flow.deficit < head.cost) {
+                    flow.deficit += flow.quantum;
+                    activeFlows.addLast(activeFlows.pollFirst());
+                    continue;
+                }
+                flow.tasks.pollFirst();
+                flow.deficit -= head.cost;
+                queued--;
+                if (flow.tasks.isEmpty()) {
+                    activeFlows.pollFirst();
+                    flows.remove(flow.key);
+                }
+                runningByOwner.merge(head.owner, 1, Integer::sum);
+                return head;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rotates flows whose owner holds ownerLimit workers to the back, without earning a
+     * quantum, as long as some flow of an owner below the limit is waiting. If every waiting
+     * owner is at the limit, the rotation is left as it is and workers are not kept idle.
+     */
+    private void skipOwnersAtLimit() {
+        boolean anyBelowLimit = activeFlows.stream().anyMatch(flow -> !atOwnerLimit(flow.owner));
+        if (!anyBelowLimit) {
+            return;
+        }
+        while (atOwnerLimit(activeFlows.peekFirst().owner)) {
+            activeFlows.addLast(activeFlows.pollFirst());
+        }
+    }
+
+    private boolean atOwnerLimit(String owner) {
+        return runningByOwner.getOrDefault(owner, 0) >= ownerLimit;
+    }
+
+    private void finished(String owner) {
+        lock.lock();
+        try {
+            runningByOwner.computeIfPresent(owner, (k, running) -> running > 1 ? running - 1 : null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Flow {
+        private final String key;
+        private final String owner;
+        private final long quantum;
+        private final Deque<Task> tasks = new ArrayDeque<>();
+        private long deficit;
+
+        private Flow(String key, String owner, long quantum) {
+            this.key = key;
+            this.owner = owner;
+            this.quantum = quantum;
+        }
+    }
+
+    private record Task(String owner, long cost, Runnable runnable) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.domain.exception.IndexingFailedException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded window of in-flight Kafka sends for one fan-out.
+ *
+ * send() blocks once maxInFlight sends are unacknowledged, so a huge pod cannot flood
+ * the producer buffer. The first send failure is kept and fails the next send() or
+ * awaitAll(), so a job is never completed with events silently missing.
+ */
+class FanOutWindow {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final IndexingMetrics metrics;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final Semaphore permits;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    FanOutWindow(KafkaTemplate<String, Object> kafkaTemplate, IndexingMetrics metrics, int maxInFlight,
+            long timeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.metrics = metrics;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    void send(String topic, String key, Object value) {
+        throwIfFailed();
+        acquire(1);
+        try {
+            kafkaTemplate.send(topic, key, value).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    metrics.incFanOutSent();
+                } else {
+                    metrics.incFanOutFailed();
+                    failure.compareAndSet(null, ex);
+                }
+                permits.release();
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw new IndexingFailedException("Failed to send item event", e);
+        }
+    }
+
+    /**
+     * Waits until every send in the window has been acknowledged by the broker.
+     */
+    void awaitAll() {
+        acquire(maxInFlight);
+        permits.release(maxInFlight);
+        throwIfFailed();
+    }
+
+    private void acquire(int count) {
+        try {
+            if (!permits.tryAcquire(count, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IndexingFailedException("Timed out waiting for item event sends",
+                        new TimeoutException("Fan-out window did not drain in " + timeoutMs + "ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IndexingFailedException("Interrupted during fan-out", e);
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw new IndexingFailedException("Item event send failed", t);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.raghav.datahub.service.indexing;
+
+/**
+ * Priority lane of an indexing job. Each lane has its own job and item topics, consumed by
+ * separate listener containers, so a bulk reindex never queues ahead of a small interactive one.
+ */
+public enum IndexingLane {
+
+    INTERACTIVE("pod-indexing-jobs-interactive", "item-indexing-events-interactive"),
+    BULK("pod-indexing-jobs", "item-indexing-events");
+
+    private final String jobTopic;
+    private final String itemTopic;
+
+    IndexingLane(String jobTopic, String itemTopic) {
+        this.jobTopic = jobTopic;
+        this.itemTopic = itemTopic;
+    }
+
+    public String jobTopic() {
+        return jobTopic;
+    }
+
+    public String itemTopic() {
+        return itemTopic;
+    }
+}
@@ -19,11 +19,16 @@ public class IndexingMetrics {
     private final Counter jobsStarted;
     private final Counter jobsCompleted;
     private final Counter jobsFailed;
+    private final Counter jobsCoalesced;
 
     private final Counter chunksProcessed;
     private final Counter chunkFailures;
     private final Counter chunkRetries;
 
+    private final Counter fanOutSent;
+    private final Counter fanOutFailed;
+    private final Timer fanOutTimer;
+
     private final AtomicInteger runningJobsGauge = new AtomicInteger(0);
     private final Timer indexingTimer;
 
@@ -31,11 +36,18 @@ public class IndexingMetrics {
         this.jobsStarted = registry.counter("datahub.indexing.jobs.started");
         this.jobsCompleted = registry.counter("datahub.indexing.jobs.completed");
         this.jobsFailed = registry.counter("datahub.indexing.jobs.failed");
+        this.jobsCoalesced = registry.counter("datahub.indexing.jobs.coalesced");
 
         this.chunksProcessed = registry.counter("datahub.indexing.chunks.processed");
         this.chunkFailures = registry.counter("datahub.indexing.chunks.failed");
         this.chunkRetries = registry.counter("datahub.indexing.chunks.retries");
 
+        this.fanOutSent = registry.counter("datahub.indexing.fanout.sent");
+        this.fanOutFailed = registry.counter("datahub.indexing.fanout.failed");
+        this.fanOutTimer = Timer.builder("datahub.indexing.fanout.time")
+                .description("Time taken to fan out a pod into item events")
+                .register(registry);
+
         Gauge.builder("datahub.indexing.jobs.running", runningJobsGauge, AtomicInteger::get)
                 .description("Number of currently running indexing jobs")
                 .register(registry);
@@ -58,6 +70,10 @@ public class IndexingMetrics {
         jobsFailed.increment();
     }
 
+    public void incJobsCoalesced() {
+        jobsCoalesced.increment();
+    }
+
     public void incChunksProcessed() {
         chunksProcessed.increment();
     }
@@ -70,6 +86,18 @@ public class IndexingMetrics {
         chunkRetries.increment();
     }
 
+    public void incFanOutSent() {
+        fanOutSent.increment();
+    }
+
+    public void incFanOutFailed() {
+        fanOutFailed.increment();
+    }
+
+    public void addFanOutTime(long ms) {
+        fanOutTimer.record(ms, TimeUnit.MILLISECONDS);
+    }
+
     public void incRunningJobs() {
         runningJobsGauge.incrementAndGet();
     }
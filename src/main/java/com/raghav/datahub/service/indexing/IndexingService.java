@@ -1,17 +1,23 @@
 package com.raghav.datahub.service.indexing;
 
+import com.raghav.datahub.config.IndexingProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.raghav.datahub.domain.model.IndexingJob;
 import com.raghav.datahub.domain.model.JobStatus;
-import com.raghav.datahub.domain.model.Pod;
+import com.raghav.datahub.domain.model.OutboxMessage;
 import com.raghav.datahub.domain.repository.IndexingJobRepository;
+import com.raghav.datahub.domain.repository.OutboxRepository;
 import com.raghav.datahub.domain.repository.PodRepository;
 import com.raghav.datahub.service.indexing.event.PodIndexingEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Slf4j
@@ -21,38 +27,118 @@ public class IndexingService {
 
     private final PodRepository podRepository;
     private final IndexingJobRepository jobRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
     private final IndexingMetrics metrics;
+    private final IndexingProperties indexingProperties;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String TOPIC = "pod-indexing-jobs";
-
+    /**
+     * Starts indexing the pod, coalescing with outstanding work: while a job is PENDING
+     * every further request returns it. While a job is RUNNING, the first request queues
+     * one follow-up job, since the running fan-out may already have read past the changes
+     * that prompted it; later requests then coalesce onto that follow-up. The follow-up is
+     * only dispatched once the running job finishes ({@link #dispatchPending}).
+     */
     @Transactional
     public IndexingJob startIndexing(String podId) {
-        Pod pod = podRepository.findById(podId);
-        if (pod == null) {
+        // Serializes concurrent requests for the same pod until this transaction commits
+        if (!podRepository.lockForUpdate(podId)) {
             throw new IllegalArgumentException("Pod not found: " + podId);
         }
 
+        IndexingJob pending = jobRepository.findLatestByPodIdAndStatus(podId, JobStatus.PENDING);
+        if (pending != null) {
+            log.info("Coalesced indexing request for pod {} into pending job {}", podId, pending.getJobId());
+            metrics.incJobsCoalesced();
+            return pending;
+        }
+        boolean running = jobRepository.findLatestByPodIdAndStatus(podId, JobStatus.RUNNING) != null;
+
         IndexingJob job = new IndexingJob(podId);
         job.setStatus(JobStatus.PENDING);
         jobRepository.save(job);
+        metrics.incJobsStarted();
 
-        String traceId = UUID.randomUUID().toString();
-        PodIndexingEvent event = new PodIndexingEvent(job.getJobId(), podId, traceId);
-
-        kafkaTemplate.send(TOPIC, podId, event)
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("Dispatched indexing job {} for pod {}", job.getJobId(), podId);
-                        metrics.incJobsStarted();
-                    } else {
-                        log.error("Failed to dispatch indexing job", ex);
-                    }
-                });
+        if (running) {
+            log.info("Pod {} is being indexed, holding follow-up job {} until it finishes", podId, job.getJobId());
+            return job;
+        }
+        IndexingLane lane = dispatch(job);
+        log.info("Queued indexing job {} for pod {} on {} lane", job.getJobId(), podId, lane);
 
         return job;
     }
 
+    /**
+     * Dispatches the pod's follow-up job, if any. Called once the running job has finished.
+     */
+    @Transactional
+    public void dispatchPending(String podId) {
+        if (!podRepository.lockForUpdate(podId)) {
+            return;
+        }
+        IndexingJob pending = jobRepository.findLatestByPodIdAndStatus(podId, JobStatus.PENDING);
+        if (pending != null) {
+            IndexingLane lane = dispatch(pending);
+            log.info("Released follow-up job {} for pod {} on {} lane", pending.getJobId(), podId, lane);
+        }
+    }
+
+    /**
+     * Re-dispatches fan-outs whose worker stopped heartbeating, and PENDING jobs that are still
+     * waiting although nothing holds them back any more (their release was lost with a node, or
+     * the job they waited on died). Job records are never held back on the topic, so this is
+     * what resumes them; the claim lets exactly one consumer take each one over, however many
+     * nodes dispatch it.
+     */
+    @Scheduled(fixedDelayString = "${datahub.indexing.checkpoint.rescan-interval-ms:60000}")
+    public void redispatchAbandoned() {
+        Instant staleBefore = Instant.now().minusMillis(indexingProperties.getCheckpoint().getLeaseMs());
+        for (IndexingJob job : jobRepository.findAbandonedFanOuts(staleBefore)) {
+            IndexingJob followUp = jobRepository.findLatestByPodIdAndStatus(job.getPodId(), JobStatus.PENDING);
+            if (followUp != null) {
+                // The follow-up reads the whole pod again, so resuming this one would only race it
+                jobRepository.markAsFailed(job.getJobId(), "Superseded by job " + followUp.getJobId());
+                log.info("Dropped abandoned job {} for pod {} in favour of {}", job.getJobId(), job.getPodId(),
+                        followUp.getJobId());
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> dispatch(job));
+            log.info("Re-dispatched job {} for pod {}: its fan-out lease expired", job.getJobId(), job.getPodId());
+        }
+        for (IndexingJob job : jobRepository.findClaimablePending(staleBefore, staleBefore)) {
+            transactionTemplate.executeWithoutResult(status -> dispatch(job));
+            log.info("Re-dispatched pending job {} for pod {}", job.getJobId(), job.getPodId());
+        }
+    }
+
+    /**
+     * Written in the caller's transaction and published by the outbox relay, so a committed
+     * job is always dispatched.
+     */
+    private IndexingLane dispatch(IndexingJob job) {
+        String podId = job.getPodId();
+        // Small pods go to the interactive lane so a bulk reindex cannot queue ahead of them
+        IndexingLane lane = podRepository.countItems(podId) <= indexingProperties.getLanes().getInteractiveMaxItems()
+                ? IndexingLane.INTERACTIVE
+                : IndexingLane.BULK;
+
+        String traceId = UUID.randomUUID().toString();
+        PodIndexingEvent event = new PodIndexingEvent(job.getJobId(), podId, traceId, lane,
+                podRepository.findOwnerUserId(podId));
+        outboxRepository.append(new OutboxMessage(lane.jobTopic(), podId, podId, toJson(event)));
+        return lane;
+    }
+
+    private String toJson(PodIndexingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize indexing event for job " + event.jobId(), e);
+        }
+    }
+
     public IndexingJob getJob(String jobId) {
         return jobRepository.findById(jobId);
     }
@@ -1,40 +1,44 @@
 package com.raghav.datahub.service.indexing;
 
-import com.raghav.datahub.config.LlmProperties;
-import com.raghav.datahub.domain.event.ItemIndexingEvent;
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.IndexingJob;
 import com.raghav.datahub.domain.model.JobStatus;
-import com.raghav.datahub.domain.model.PodIndex;
 import com.raghav.datahub.domain.repository.IndexingJobRepository;
-import com.raghav.datahub.domain.repository.PodIndexRepository;
-import com.raghav.datahub.domain.repository.PodRepository;
 import com.raghav.datahub.service.indexing.event.PodIndexingEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Instant;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class IndexingWorker {
 
-    private final PodRepository podRepository;
     private final IndexingJobRepository jobRepository;
-    private final PodIndexRepository podIndexRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PodFanOutService fanOutService;
     private final ObjectMapper objectMapper;
-    private final LlmProperties llmProperties;
+    private final IndexingProperties indexingProperties;
+    private final IndexingService indexingService;
 
     @KafkaListener(topics = "pod-indexing-jobs", groupId = "social-distro-workers-v3", concurrency = "3", containerFactory = "kafkaListenerContainerFactory")
     public void onIndexingEvent(String rawJson, Acknowledgment ack) {
+        handle(rawJson, ack);
+    }
+
+    /**
+     * Separate container, so interactive jobs are never stuck behind a bulk fan-out on the same consumer thread.
+     */
+    @KafkaListener(topics = "pod-indexing-jobs-interactive", groupId = "social-distro-workers-v3", concurrency = "3", containerFactory = "kafkaListenerContainerFactory")
+    public void onInteractiveIndexingEvent(String rawJson, Acknowledgment ack) {
+        handle(rawJson, ack);
+    }
+
+    private void handle(String rawJson, Acknowledgment ack) {
         log.info("Received Raw Kafka Message: {}", rawJson);
         PodIndexingEvent event;
         try {
@@ -46,60 +50,42 @@ public class IndexingWorker {
         }
 
         log.info("Successfully parsed Job ID: {}", event.jobId());
+        long leaseMs = indexingProperties.getCheckpoint().getLeaseMs();
+
+        // Atomically claim the job - prevents multiple consumers processing same job,
+        // while letting a new worker take over a fan-out abandoned by a crashed one
+        if (!jobRepository.claimForFanOut(event.jobId(), Instant.now().minusMillis(leaseMs))) {
+            IndexingJob job = jobRepository.findById(event.jobId());
+            if (job != null && job.getStatus() == JobStatus.RUNNING && job.getFannedOutAt() == null) {
+                // Still owned by a live worker. Holding the record back would stall the partition;
+                // if the lease expires, IndexingService re-dispatches the job.
+                log.info("Job {} is being fanned out by another worker, skipping.", event.jobId());
+                ack.acknowledge();
+                return;
+            }
+            if (job != null && job.getStatus() == JobStatus.PENDING) {
+                // Another job of the pod is still running; it releases this one when it finishes
+                log.info("Job {} waits for the running job of pod {}, skipping.", event.jobId(), event.podId());
+                ack.acknowledge();
+                return;
+            }
+            log.warn("Job {} already claimed by another worker, skipping.", event.jobId());
+            ack.acknowledge();
+            return;
+        }
+
         try {
-            processWithRetry(event);
+            fanOutService.fanOut(event);
             ack.acknowledge();
         } catch (Exception e) {
-            log.error("Job {} permanently failed after retries.", event.jobId());
+            log.error("Job {} permanently failed after retries.", event.jobId(), e);
             handlePermanentFailure(event, e);
             ack.acknowledge();
         }
     }
 
-    @Retry(name = "indexingRetry", fallbackMethod = "recover")
-    @Transactional
-    public void processWithRetry(PodIndexingEvent event) {
-        // Atomically claim the job - prevents multiple consumers processing same job
-        boolean claimed = jobRepository.updateStatusConditionally(event.jobId(), JobStatus.PENDING, JobStatus.RUNNING);
-        if (!claimed) {
-            log.warn("Job {} already claimed by another worker, skipping.", event.jobId());
-            return;
-        }
-
-        AtomicInteger count = new AtomicInteger();
-        StringBuilder combinedText = new StringBuilder();
-
-        // Fan-out: Iterate items and send events
-        podRepository.streamItems(event.podId(), item -> {
-            // Send to Kafka for async processing
-            ItemIndexingEvent itemEvent = new ItemIndexingEvent(
-                    event.podId(),
-                    item.getId(),
-                    item.getContent(),
-                    llmProperties.getEmbeddingModel());
-            // Use item.getId() as key for partitioning
-            kafkaTemplate.send("item-indexing-events", item.getId(), itemEvent);
-
-            combinedText.append(item.getContent()).append("\n");
-            count.incrementAndGet();
-        });
-
-        // Save lightweight Pod Index (Aggregated Text)
-        podIndexRepository.save(new PodIndex(event.podId(), combinedText.toString()));
-
-        // Mark job as completed via query (avoids entity versioning issues)
-        jobRepository.markAsCompleted(event.jobId());
-
-        log.info("Job {} split into {} item events. PodIndex created.", event.jobId(), count.get());
-    }
-
-    public void recover(PodIndexingEvent event, Exception e) {
-        log.error("Retry exhausted for job {}", event.jobId(), e);
-        throw new RuntimeException("Resilience4j Retry exhausted", e);
-    }
-
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void handlePermanentFailure(PodIndexingEvent event, Exception e) {
+    private void handlePermanentFailure(PodIndexingEvent event, Exception e) {
         jobRepository.markAsFailed(event.jobId(), e.getMessage());
+        indexingService.dispatchPending(event.podId());
     }
-}
\ No newline at end of file
+}
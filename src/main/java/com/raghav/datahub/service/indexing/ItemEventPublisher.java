@@ -0,0 +1,62 @@
+package com.raghav.datahub.service.indexing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raghav.datahub.domain.event.ItemIndexingEvent;
+import com.raghav.datahub.domain.model.DataItem;
+import com.raghav.datahub.domain.model.OutboxMessage;
+import com.raghav.datahub.domain.repository.OutboxRepository;
+import com.raghav.datahub.domain.repository.PodRepository;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Queues individual items for (re-)embedding outside of an indexing job: the events go
+ * through the outbox on the interactive lane and carry no job id.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemEventPublisher {
+
+    private final PodRepository podRepository;
+    private final OutboxRepository outboxRepository;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Must be called inside the transaction that writes the items. Near-duplicates are skipped.
+     *
+     * @return the number of events queued
+     */
+    public int publish(String podId, List<DataItem> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        String model = embeddingModelRegistry.activeModel(podId);
+        String ownerUserId = podRepository.findOwnerUserId(podId);
+        String topic = IndexingLane.INTERACTIVE.itemTopic();
+
+        int queued = 0;
+        for (DataItem item : items) {
+            if (item.getCanonicalItemId() != null) {
+                continue;
+            }
+            ItemIndexingEvent event = new ItemIndexingEvent(podId, item.getId(), item.getContent(), model,
+                    null, ownerUserId);
+            outboxRepository.append(new OutboxMessage(topic, item.getId(), podId, toJson(event)));
+            queued++;
+        }
+        return queued;
+    }
+
+    private String toJson(ItemIndexingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize item event for item " + event.getDataItemId(), e);
+        }
+    }
+}
@@ -1,65 +1,284 @@
 package com.raghav.datahub.service.indexing;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raghav.datahub.config.IndexingProperties;
 import com.raghav.datahub.domain.event.ItemIndexingEvent;
+import com.raghav.datahub.domain.exception.ConcurrencyLimitExceededException;
+import com.raghav.datahub.domain.model.DataItem;
 import com.raghav.datahub.domain.port.VectorStore;
+import com.raghav.datahub.domain.repository.PodEmbeddingModelRepository;
+import com.raghav.datahub.domain.repository.PodRepository;
 import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
+import com.raghav.datahub.service.dedup.NearDuplicateDetector;
+import com.raghav.datahub.service.dlq.DeadLetterIngestor;
+import com.raghav.datahub.service.dlq.DlqHeaders;
 import com.raghav.datahub.service.embedding.EmbeddingClient;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.service.embedding.SharedEmbeddings;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ItemIndexingWorker {
 
-    private static final String DLQ_TOPIC = "item-indexing-events-dlq";
+    private static final int MAX_ERROR_LENGTH = 2000;
 
     private final EmbeddingClient embeddingClient;
     private final VectorStore vectorStore;
     private final ObjectMapper objectMapper;
     private final MeterRegistry meterRegistry;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    @Qualifier("dlqKafkaTemplate")
+    private final KafkaTemplate<String, String> dlqKafkaTemplate;
+    private final AdaptiveConcurrencyLimiter embeddingLimiter;
+    private final JobProgressTracker progressTracker;
+    private final IndexingProperties indexingProperties;
+    private final FairItemScheduler fairScheduler;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+    private final TextChunker chunker;
+    private final SharedEmbeddings sharedEmbeddings;
+    private final PodEmbeddingModelRepository podEmbeddingModelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PodRepository podRepository;
+    private final NearDuplicateDetector nearDuplicateDetector;
 
-    @KafkaListener(topics = "item-indexing-events", groupId = "social-distro-item-workers", concurrency = "5")
-    public void onItemEvent(String rawJson, Acknowledgment ack) {
+    private final Map<String, CompletableFuture<Void>> keyTails = new ConcurrentHashMap<>();
+
+    @KafkaListener(topics = "item-indexing-events", groupId = "social-distro-item-workers", concurrency = "5", containerFactory = "itemListenerContainerFactory")
+    public void onItemEvent(String rawJson,
+            @Header(name = KafkaHeaders.RECEIVED_KEY, required = false) String key,
+            @Header(name = DlqHeaders.REPLAY_ATTEMPTS, required = false) byte[] replayAttempts,
+            Acknowledgment ack) {
+        handle(new ItemRecord(IndexingLane.BULK, key, rawJson, DlqHeaders.toInt(replayAttempts)), ack);
+    }
+
+    /**
+     * Separate container for small pods, so their items are polled independently of any bulk backlog.
+     */
+    @KafkaListener(topics = "item-indexing-events-interactive", groupId = "social-distro-item-workers", concurrency = "5", containerFactory = "itemListenerContainerFactory")
+    public void onInteractiveItemEvent(String rawJson,
+            @Header(name = KafkaHeaders.RECEIVED_KEY, required = false) String key,
+            @Header(name = DlqHeaders.REPLAY_ATTEMPTS, required = false) byte[] replayAttempts,
+            Acknowledgment ack) {
+        handle(new ItemRecord(IndexingLane.INTERACTIVE, key, rawJson, DlqHeaders.toInt(replayAttempts)), ack);
+    }
+
+    private void handle(ItemRecord record, Acknowledgment ack) {
+        if (indexingProperties.getParallel().isEnabled()) {
+            dispatchParallel(record, ack);
+            return;
+        }
+        ItemIndexingEvent event = null;
+        boolean success;
         try {
-            ItemIndexingEvent event = objectMapper.readValue(rawJson, ItemIndexingEvent.class);
-            processItem(event);
-            ack.acknowledge();
+            event = objectMapper.readValue(record.rawJson(), ItemIndexingEvent.class);
+            processItem(event, record.lane());
+            success = true;
         } catch (Exception e) {
-            log.error("Failed to process item event, sending to DLQ: {}", rawJson, e);
-            // Send to Dead Letter Queue
-            kafkaTemplate.send(DLQ_TOPIC, rawJson);
+            if (isOverload(e)) {
+                // Hand the record back: the consumer pauses for the backoff and redelivers it,
+                // instead of failing it to the DLQ while the embedding service is saturated.
+                log.warn("Embedding service overloaded, pausing item consumption: {}", e.getMessage());
+                meterRegistry.counter("indexing.item.backpressure").increment();
+                ack.nack(Duration.ofMillis(indexingProperties.getOverloadBackoffMs()));
+                return;
+            }
+            sendToDlq(record, e);
+            success = false;
+        }
+        // Outside the try: if the outcome cannot be stored, the listener fails and the record
+        // is redelivered rather than sent to the DLQ
+        recordOutcome(record, event, success);
+        ack.acknowledge();
+    }
+
+    /**
+     * Queues the record on the fair scheduler and returns so the consumer can hand over the next one.
+     * Records with the same key are chained so per-item ordering is kept.
+     */
+    private void dispatchParallel(ItemRecord record, Acknowledgment ack) {
+        ItemIndexingEvent event;
+        try {
+            event = objectMapper.readValue(record.rawJson(), ItemIndexingEvent.class);
+        } catch (Exception e) {
+            sendToDlq(record, e);
             ack.acknowledge();
+            return;
         }
+        long cost = event.getContent() != null ? event.getContent().length() : 1;
+        Executor fairExecutor = fairScheduler.executorFor(record.lane(), event.getOwnerUserId(), cost);
+
+        String chainKey = record.key() != null ? record.key() : record.rawJson();
+        CompletableFuture<Void> tail = keyTails.compute(chainKey, (k, previous) -> {
+            CompletableFuture<Void> base = previous != null
+                    ? previous.exceptionally(ex -> null)
+                    : CompletableFuture.<Void>completedFuture(null);
+            return base.thenRunAsync(() -> processParallel(record, event, ack), fairExecutor);
+        });
+        tail.whenComplete((ignored, ex) -> keyTails.remove(chainKey, tail));
     }
 
-    private void processItem(ItemIndexingEvent event) {
-        Timer.Sample sample = Timer.start(meterRegistry);
+    /**
+     * Parallel-mode counterpart of handle. nack is only allowed on the consumer thread,
+     * so overload is handled by backing off here; the consumer stays paused meanwhile
+     * because the in-flight window cannot be committed past this record.
+     */
+    private void processParallel(ItemRecord record, ItemIndexingEvent event, Acknowledgment ack) {
+        boolean success;
+        while (true) {
+            try {
+                processItem(event, record.lane());
+                success = true;
+                break;
+            } catch (InterruptedException e) {
+                // Shutting down: leave the record unacknowledged so it is redelivered
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!isOverload(e)) {
+                    if (!sendToDlqWithRetry(record, e)) {
+                        return;
+                    }
+                    success = false;
+                    break;
+                }
+                meterRegistry.counter("indexing.item.backpressure").increment();
+                if (!backOff()) {
+                    return;
+                }
+            }
+        }
+        // The window cannot commit past an unacknowledged record, so keep trying to store the outcome
+        while (true) {
+            try {
+                recordOutcome(record, event, success);
+                ack.acknowledge();
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to record outcome of item {}, retrying: {}", event.getDataItemId(), e.getMessage());
+                if (!backOff()) {
+                    return;
+                }
+            }
+        }
+    }
 
+    /**
+     * The window cannot commit past an unacknowledged record, so keep trying until the DLQ
+     * has the record.
+     *
+     * @return false if interrupted while waiting
+     */
+    private boolean sendToDlqWithRetry(ItemRecord record, Exception cause) {
+        while (true) {
+            try {
+                sendToDlq(record, cause);
+                return true;
+            } catch (Exception e) {
+                log.warn("Failed to send item record to the DLQ, retrying: {}", e.getMessage());
+                if (!backOff()) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if interrupted while waiting
+     */
+    private boolean backOff() {
         try {
-            List<Double> embeddingList = embeddingClient.generateEmbedding(event.getContent());
-            float[] embeddingArray = toFloatArray(embeddingList);
+            Thread.sleep(indexingProperties.getOverloadBackoffMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-            VectorChunkEntity chunk = new VectorChunkEntity();
-            // Deterministic ID for idempotency (prevents duplicates on Kafka redelivery)
-            chunk.setId(event.getPodId() + ":" + event.getDataItemId());
-            chunk.setPodId(event.getPodId());
-            chunk.setContent(event.getContent());
-            chunk.setEmbedding(embeddingArray);
-            chunk.setModelVersion(event.getModelVersion());
+    /**
+     * Replayed items were already counted as failed when their job finished, so they do not
+     * count towards job progress again.
+     */
+    private void recordOutcome(ItemRecord record, ItemIndexingEvent event, boolean success) {
+        if (event == null || record.replayAttempts() > 0) {
+            return;
+        }
+        if (success) {
+            progressTracker.recordProcessed(event.getJobId(), event.getDataItemId());
+        } else {
+            progressTracker.recordFailed(event.getJobId(), event.getDataItemId());
+        }
+    }
 
-            vectorStore.saveChunk(chunk);
+    /**
+     * Keeps the original JSON as the value and describes the failure in headers, so the
+     * ingestor can filter and replay it and count repeated failures of the same item.
+     * Waits for the broker to acknowledge it, so the source record is only acknowledged once
+     * the DLQ holds it; a failed send throws and the record is redelivered.
+     */
+    private void sendToDlq(ItemRecord record, Exception e) {
+        log.error("Failed to process item event, sending to DLQ: {}", record.rawJson(), e);
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        ProducerRecord<String, String> dlqRecord = new ProducerRecord<>(
+                DeadLetterIngestor.DLQ_TOPIC, record.key(), record.rawJson());
+        DlqHeaders.put(dlqRecord.headers(), DlqHeaders.ATTEMPTS, record.replayAttempts() + 1);
+        DlqHeaders.put(dlqRecord.headers(), DlqHeaders.ERROR_CLASS, root.getClass().getName());
+        DlqHeaders.put(dlqRecord.headers(), DlqHeaders.ERROR_MESSAGE, abbreviate(root.getMessage()));
+        DlqHeaders.put(dlqRecord.headers(), DlqHeaders.SOURCE_TOPIC, record.lane().itemTopic());
+        DlqHeaders.put(dlqRecord.headers(), DlqHeaders.FAILED_AT, System.currentTimeMillis());
+        try {
+            dlqKafkaTemplate.send(dlqRecord).get(indexingProperties.getDlq().getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending item record to the DLQ", ie);
+        } catch (ExecutionException | TimeoutException se) {
+            throw new IllegalStateException("Failed to send item record to the DLQ", se);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void processItem(ItemIndexingEvent event, IndexingLane lane) throws InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            index(event, lane == IndexingLane.INTERACTIVE);
 
             sample.stop(meterRegistry.timer("indexing.item.process", "status", "success"));
             log.debug("Indexed item for pod {}", event.getPodId());
@@ -70,14 +289,142 @@ public class ItemIndexingWorker {
         }
     }
 
-    private float[] toFloatArray(List<Double> list) {
-        if (list == null || list.isEmpty())
-            return new float[0];
-        return IntStream.range(0, list.size())
-                .mapToDouble(i -> list.get(i) != null ? list.get(i) : 0.0)
-                .collect(() -> new float[list.size()],
-                        (arr, val) -> arr[0] = (float) val,
-                        (a, b) -> {
-                        });
+    /**
+     * Embeds the item as it is stored now rather than the content the event carries, which
+     * may predate a later update; redelivered and replayed events then cannot bring back
+     * old content.
+     */
+    private void index(ItemIndexingEvent event, boolean priority) throws InterruptedException {
+        DataItem item = podRepository.findItem(event.getPodId(), event.getDataItemId());
+        if (item == null || isDuplicate(item)) {
+            log.info("Item {} of pod {} no longer needs indexing, dropping it", event.getDataItemId(), event.getPodId());
+            return;
+        }
+        String content = item.getContent();
+        List<String> chunks = chunker.split(content);
+        String model = embeddingModelRegistry.activeModel(event.getPodId());
+        while (true) {
+            List<float[]> embeddings = embed(chunks, model, priority);
+            String active = saveChunks(event, content, chunks, embeddings, model);
+            if (active == null) {
+                log.info("Pod {} no longer exists, dropping item {}", event.getPodId(), event.getDataItemId());
+                return;
+            }
+            if (active.equals(model)) {
+                return;
+            }
+            // A migration switched the pod while this item was embedded with the old model
+            embeddingModelRegistry.invalidate(event.getPodId());
+            model = active;
+        }
+    }
+
+    private boolean isDuplicate(DataItem item) {
+        return nearDuplicateDetector.isEnabled() && item.getCanonicalItemId() != null;
+    }
+
+    /**
+     * Embeds the item's chunks in small batches. Chunks whose text any pod has embedded
+     * before reuse the shared embedding.
+     */
+    private List<float[]> embed(List<String> chunks, String model, boolean priority) throws InterruptedException {
+        int batchSize = Math.max(1, indexingProperties.getChunking().getEmbedBatchSize());
+        List<float[]> embeddings = new ArrayList<>(chunks.size());
+        for (int from = 0; from < chunks.size(); from += batchSize) {
+            List<String> batch = chunks.subList(from, Math.min(chunks.size(), from + batchSize));
+            embeddings.addAll(sharedEmbeddings.embed(batch, model,
+                    texts -> embedWithinLimit(texts, model, priority)));
+        }
+        return embeddings;
+    }
+
+    /**
+     * Stores the chunks under deterministic ids (podId:itemId:n), so Kafka redelivery
+     * overwrites instead of duplicating. The pod's model row is share-locked meanwhile, so a
+     * migration cannot switch the pod between the check and the commit: chunks saved under
+     * the old model are still there for the migration to pick up. Deleting the pod removes
+     * that row first, so chunks cannot be saved after the pod's chunks are deleted.
+     *
+     * The item's row is share-locked too: if it was updated, deleted or became a duplicate
+     * while the content was embedded, nothing is saved, as the change already took care of
+     * its chunks.
+     *
+     * @return the pod's active model, or null if the pod is gone; nothing is saved unless it
+     *         is the given model
+     */
+    private String saveChunks(ItemIndexingEvent event, String content, List<String> chunks,
+            List<float[]> embeddings, String model) {
+        return transactionTemplate.execute(status -> {
+            String active = podEmbeddingModelRepository.lockActiveModel(event.getPodId());
+            if (!model.equals(active)) {
+                return active;
+            }
+            DataItem current = podRepository.lockItemForShare(event.getPodId(), event.getDataItemId());
+            if (current == null || !content.equals(current.getContent()) || isDuplicate(current)) {
+                log.info("Item {} of pod {} changed while it was embedded, dropping it",
+                        event.getDataItemId(), event.getPodId());
+                return active;
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                VectorChunkEntity chunk = new VectorChunkEntity();
+                chunk.setId(event.getPodId() + ":" + event.getDataItemId() + ":" + i);
+                chunk.setPodId(event.getPodId());
+                chunk.setDataItemId(event.getDataItemId());
+                chunk.setChunkIndex(i);
+                chunk.setContent(chunks.get(i));
+                chunk.setContentHash(SharedEmbeddings.contentHash(chunks.get(i)));
+                chunk.setEmbedding(embeddings.get(i));
+                chunk.setModelVersion(model);
+                vectorStore.saveChunk(chunk);
+            }
+            vectorStore.deleteItemChunksFrom(event.getPodId(), model, event.getDataItemId(), chunks.size());
+            return active;
+        });
+    }
+
+    private List<List<Double>> embedWithinLimit(List<String> texts, String model, boolean priority)
+            throws InterruptedException {
+        AdaptiveConcurrencyLimiter.Permit permit = embeddingLimiter
+                .acquire(Duration.ofMillis(indexingProperties.getLimiter().getMaxQueueWaitMs()), priority)
+                .orElseThrow(() -> new ConcurrencyLimitExceededException("No embedding permit available"));
+        try {
+            List<List<Double>> embeddings = embeddingClient.generateEmbeddings(texts, model);
+            // Cache hits vary the batch size, so latency is compared per text
+            permit.onSuccess(texts.size());
+            return embeddings;
+        } catch (RuntimeException e) {
+            if (isOverload(e)) {
+                permit.onDropped();
+            } else {
+                permit.onIgnore();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Transient capacity problems (open breaker, timeouts, 429/503, no permit) as opposed
+     * to failures that retrying will not fix.
+     */
+    static boolean isOverload(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyLimitExceededException
+                    || cause instanceof CallNotPermittedException
+                    || cause instanceof ResourceAccessException
+                    || cause instanceof HttpServerErrorException.ServiceUnavailable
+                    || cause instanceof HttpClientErrorException.TooManyRequests) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A consumed item record; replayAttempts is non-zero for records replayed from the DLQ.
+     */
+    private record ItemRecord(IndexingLane lane, String key, String rawJson, int replayAttempts) {
     }
 }
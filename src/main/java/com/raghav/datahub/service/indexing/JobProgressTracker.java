@@ -0,0 +1,142 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.IndexingJob;
+import com.raghav.datahub.domain.repository.IndexingJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks item outcomes per job. Each outcome is recorded per item before the item's offset
+ * is committed, so redelivered and re-sent items count once. Only the resulting counter
+ * changes are batched in memory and flushed as one increment per job per interval, so item
+ * workers never contend on the job row.
+ *
+ * A job is completed once its counters reach the number of items fanned out. Counters of a
+ * job that stops moving, e.g. because a node died holding unflushed increments, are
+ * recounted from the recorded outcomes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobProgressTracker {
+
+    private final IndexingJobRepository jobRepository;
+    private final IndexingService indexingService;
+    private final IndexingMetrics metrics;
+    private final IndexingProperties indexingProperties;
+
+    private final Map<String, Counts> pending = new ConcurrentHashMap<>();
+
+    public void recordProcessed(String jobId, String itemId) {
+        recordOutcome(jobId, itemId, false);
+    }
+
+    public void recordFailed(String jobId, String itemId) {
+        recordOutcome(jobId, itemId, true);
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.indexing.progress-flush-interval-ms:1000}")
+    public void flush() {
+        for (String jobId : pending.keySet()) {
+            Counts counts = pending.remove(jobId);
+            if (counts == null) {
+                continue;
+            }
+            try {
+                jobRepository.incrementItemCounts(jobId, counts.processed, counts.failed);
+                tryComplete(jobId);
+            } catch (Exception e) {
+                log.warn("Failed to flush progress for job {}, will retry: {}", jobId, e.getMessage());
+                record(jobId, counts.processed, counts.failed);
+            }
+        }
+    }
+
+    /**
+     * Recounts jobs whose counters have not moved for a while and drops the outcomes of
+     * finished jobs.
+     */
+    @Scheduled(fixedDelayString = "${datahub.indexing.progress.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Instant before = Instant.now().minusMillis(indexingProperties.getProgress().getStallMs());
+        for (String jobId : jobRepository.findStalledJobIds(before)) {
+            if (pending.containsKey(jobId)) {
+                continue;
+            }
+            try {
+                jobRepository.recountItems(jobId);
+                tryComplete(jobId);
+            } catch (Exception e) {
+                log.warn("Failed to recount progress for job {}: {}", jobId, e.getMessage());
+            }
+        }
+        int deleted = jobRepository.deleteFinishedItemOutcomes();
+        if (deleted > 0) {
+            log.debug("Dropped {} item outcomes of finished jobs", deleted);
+        }
+    }
+
+    /**
+     * Completes the job if fan-out has finished and every item is accounted for.
+     */
+    public void tryComplete(String jobId) {
+        if (!jobRepository.completeIfDrained(jobId)) {
+            return;
+        }
+        metrics.incJobsCompleted();
+        IndexingJob job = jobRepository.findById(jobId);
+        if (job != null && job.getStartedAt() != null) {
+            metrics.addIndexingTime(Duration.between(job.getStartedAt(), Instant.now()).toMillis());
+        }
+        log.info("Job {} completed: all items accounted for.", jobId);
+        if (job != null) {
+            try {
+                indexingService.dispatchPending(job.getPodId());
+            } catch (Exception e) {
+                // The rescan releases it instead
+                log.warn("Failed to release follow-up job for pod {}: {}", job.getPodId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void recordOutcome(String jobId, String itemId, boolean failed) {
+        if (jobId == null || itemId == null) {
+            return;
+        }
+        switch (jobRepository.recordItemOutcome(jobId, itemId, failed)) {
+            case NEW -> record(jobId, failed ? 0 : 1, failed ? 1 : 0);
+            case FLIPPED -> record(jobId, failed ? -1 : 1, failed ? 1 : -1);
+            case UNCHANGED -> {
+            }
+        }
+    }
+
+    private void record(String jobId, long processed, long failed) {
+        // compute() is atomic per key, so increments never land on a map entry flush() already removed
+        pending.compute(jobId, (id, counts) -> {
+            Counts c = counts != null ? counts : new Counts();
+            c.processed += processed;
+            c.failed += failed;
+            return c;
+        });
+    }
+
+    private static final class Counts {
+        private long processed;
+        private long failed;
+    }
+}
@@ -0,0 +1,126 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.event.ItemIndexingEvent;
+import com.raghav.datahub.domain.model.DataItem;
+import com.raghav.datahub.domain.model.IndexingJob;
+import com.raghav.datahub.domain.port.VectorStore;
+import com.raghav.datahub.domain.repository.IndexingJobRepository;
+import com.raghav.datahub.domain.repository.PodIndexRepository;
+import com.raghav.datahub.domain.repository.PodRepository;
+import com.raghav.datahub.service.dedup.NearDuplicateDetector;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.service.indexing.event.PodIndexingEvent;
+import io.github.resilience4j.retry.annotation.Retry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans a claimed job out into per-item events, resuming from the job's checkpoint.
+ *
+ * Items are sent in id order. Every checkpoint interval the in-flight window is drained
+ * and the last sent id is persisted, so a retry or a takeover after a crash re-sends at
+ * most one interval of items instead of the whole pod. The heartbeat is refreshed on a
+ * timer as well, so a fan-out slowed down by backpressure keeps its lease.
+ *
+ * Near-duplicate items are not sent: their canonical item's chunks already cover them.
+ * Items stored before fingerprinting are classified on the way through.
+ *
+ * Lives outside IndexingWorker so the @Retry proxy actually applies.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PodFanOutService {
+
+    private final PodRepository podRepository;
+    private final IndexingJobRepository jobRepository;
+    @Qualifier("fanOutKafkaTemplate")
+    private final KafkaTemplate<String, Object> fanOutKafkaTemplate;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+    private final IndexingProperties indexingProperties;
+    private final IndexingMetrics metrics;
+    private final JobProgressTracker progressTracker;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final VectorStore vectorStore;
+    private final PodIndexRepository podIndexRepository;
+
+    @Retry(name = "indexingRetry")
+    public void fanOut(PodIndexingEvent event) {
+        IndexingJob job = jobRepository.findById(event.jobId());
+        if (job == null) {
+            log.warn("Job {} no longer exists, skipping fan-out.", event.jobId());
+            return;
+        }
+        String resumeAfter = job.getCheckpointItemId();
+        if (resumeAfter != null) {
+            log.info("Resuming job {} after item {} ({} items already sent).",
+                    event.jobId(), resumeAfter, job.getCheckpointCount());
+        }
+
+        long start = System.currentTimeMillis();
+        String model = embeddingModelRegistry.activeModel(event.podId());
+        int checkpointInterval = indexingProperties.getCheckpoint().getIntervalItems();
+        AtomicLong count = new AtomicLong(job.getCheckpointCount());
+        long heartbeatIntervalMs = indexingProperties.getCheckpoint().getHeartbeatIntervalMs();
+        AtomicLong lastHeartbeat = new AtomicLong(System.currentTimeMillis());
+        IndexingProperties.FanOut fanOut = indexingProperties.getFanOut();
+        FanOutWindow window = new FanOutWindow(fanOutKafkaTemplate, metrics, fanOut.getMaxInFlight(),
+                fanOut.getSendTimeoutMs());
+
+        // Fan-out: Iterate items and send events (blocks while the in-flight window is full)
+        podRepository.streamItemsAfter(event.podId(), resumeAfter, item -> {
+            if (isDuplicate(event.podId(), model, item)) {
+                return;
+            }
+            ItemIndexingEvent itemEvent = new ItemIndexingEvent(
+                    event.podId(),
+                    item.getId(),
+                    item.getContent(),
+                    model,
+                    event.jobId(),
+                    event.ownerUserId());
+            // Use item.getId() as key for partitioning
+            window.send(event.laneOrDefault().itemTopic(), item.getId(), itemEvent);
+            long sent = count.incrementAndGet();
+            if (sent % checkpointInterval == 0) {
+                // Only checkpoint items the broker has acknowledged
+                window.awaitAll();
+                jobRepository.saveCheckpoint(event.jobId(), item.getId(), sent);
+                lastHeartbeat.set(System.currentTimeMillis());
+            } else if (System.currentTimeMillis() - lastHeartbeat.get() >= heartbeatIntervalMs) {
+                jobRepository.heartbeat(event.jobId());
+                lastHeartbeat.set(System.currentTimeMillis());
+            }
+        });
+
+        // Every item event must be acknowledged by the broker before the job can complete
+        window.awaitAll();
+        metrics.addFanOutTime(System.currentTimeMillis() - start);
+
+        // Lightweight Pod Index: records the pod's items, whose text is read back on fallback
+        podIndexRepository.indexAllItems(event.podId());
+
+        // The job completes once item workers have accounted for every fanned-out item
+        jobRepository.markFannedOut(event.jobId(), count.get());
+        progressTracker.tryComplete(event.jobId());
+
+        log.info("Job {} split into {} item events. PodIndex created.", event.jobId(), count.get());
+    }
+
+    private boolean isDuplicate(String podId, String model, DataItem item) {
+        if (!nearDuplicateDetector.isEnabled()) {
+            return false;
+        }
+        if (item.getSimhash() == null && nearDuplicateDetector.classifyStored(podId, item)) {
+            // Indexed before it was recognised as a duplicate
+            vectorStore.deleteItemChunksFrom(podId, model, item.getId(), 0);
+        }
+        return item.getCanonicalItemId() != null;
+    }
+}
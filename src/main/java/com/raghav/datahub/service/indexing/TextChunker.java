@@ -0,0 +1,114 @@
+package com.raghav.datahub.service.indexing;
+
+import com.raghav.datahub.config.IndexingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits item text into overlapping chunks of bounded size for embedding.
+ *
+ * Text is split recursively on the coarsest boundary that yields small enough pieces
+ * (paragraphs, then lines, sentences, words, and finally a hard cut), and the pieces are
+ * packed greedily back into chunks. Each chunk after the first starts with the tail of the
+ * previous one, so a sentence straddling a boundary stays retrievable.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextChunker {
+
+    /**
+     * Split points, coarsest first. Lookbehinds keep the separator on the left piece, so
+     * concatenating the pieces restores the text.
+     */
+    private static final Pattern[] SEPARATORS = {
+            Pattern.compile("(?<=\\n\\n)"),
+            Pattern.compile("(?<=\\n)"),
+            Pattern.compile("(?<=[.!?]\\s)"),
+            Pattern.compile("(?<=\\s)")
+    };
+
+    private final IndexingProperties props;
+
+    public List<String> split(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        IndexingProperties.Chunking chunking = props.getChunking();
+        int maxChars = Math.max(1, (int) (chunking.getMaxTokens() * chunking.getCharsPerToken()));
+        int overlapChars = (int) (chunking.getOverlapTokens() * chunking.getCharsPerToken());
+
+        String stripped = text.strip();
+        if (stripped.length() <= maxChars) {
+            return List.of(stripped);
+        }
+        List<String> pieces = new ArrayList<>();
+        splitRecursive(stripped, 0, maxChars, pieces);
+        return pack(pieces, maxChars, overlapChars);
+    }
+
+    private static void splitRecursive(String text, int level, int maxChars, List<String> out) {
+        if (text.length() <= maxChars) {
+            out.add(text);
+            return;
+        }
+        if (level == SEPARATORS.length) {
+            for (int i = 0; i < text.length(); i += maxChars) {
+                out.add(text.substring(i, Math.min(text.length(), i + maxChars)));
+            }
+            return;
+        }
+        for (String part : SEPARATORS[level].split(text)) {
+            if (!part.isEmpty()) {
+                splitRecursive(part, level + 1, maxChars, out);
+            }
+        }
+    }
+
+    private static List<String> pack(List<String> pieces, int maxChars, int overlapChars) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean hasNewText = false;
+        for (String piece : pieces) {
+            if (hasNewText && current.length() + piece.length() > maxChars) {
+                addChunk(chunks, current);
+                String tail = overlapTail(current, overlapChars);
+                current.setLength(0);
+                if (tail.length() + piece.length() <= maxChars) {
+                    current.append(tail);
+                }
+                hasNewText = false;
+            }
+            current.append(piece);
+            hasNewText = true;
+        }
+        if (hasNewText) {
+            addChunk(chunks, current);
+        }
+        return chunks;
+    }
+
+    private static void addChunk(List<String> chunks, CharSequence text) {
+        String chunk = text.toString().strip();
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+    }
+
+    /**
+     * The last overlapChars of text, starting at a word boundary.
+     */
+    private static String overlapTail(CharSequence text, int overlapChars) {
+        if (overlapChars <= 0 || text.isEmpty()) {
+            return "";
+        }
+        int start = Math.max(0, text.length() - overlapChars);
+        while (start > 0 && start < text.length() && !Character.isWhitespace(text.charAt(start - 1))) {
+            start++;
+        }
+        return text.subSequence(start, text.length()).toString();
+    }
+}
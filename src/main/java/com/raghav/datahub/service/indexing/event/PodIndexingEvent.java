@@ -1,7 +1,19 @@
 package com.raghav.datahub.service.indexing.event;
 
+import com.raghav.datahub.service.indexing.IndexingLane;
+
+/**
+ * lane is null for events published before lanes existed; those are treated as BULK.
+ */
 public record PodIndexingEvent(
         String jobId,
         String podId,
-        String traceId
-) {}
\ No newline at end of file
+        String traceId,
+        IndexingLane lane,
+        String ownerUserId
+) {
+
+    public IndexingLane laneOrDefault() {
+        return lane != null ? lane : IndexingLane.BULK;
+    }
+}
\ No newline at end of file
@@ -1,19 +1,21 @@
 package com.raghav.datahub.service.llm;
 
 import com.raghav.datahub.config.LlmProperties;
+import com.raghav.datahub.infrastructure.http.LlmEndpointRouter;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class OllamaLlmClient implements LlmClient {
 
-    private final RestClient restClient;
+    @Qualifier("generationRouter")
+    private final LlmEndpointRouter router;
     private final LlmProperties props;
 
     @Override
@@ -27,11 +29,11 @@ public class OllamaLlmClient implements LlmClient {
 
         log.debug("Sending request to Ollama: {}", props.getModel());
 
-        OllamaGenerateResponse response = restClient.post()
+        OllamaGenerateResponse response = router.execute(restClient -> restClient.post()
                 .uri("/api/generate")
                 .body(request)
                 .retrieve()
-                .body(OllamaGenerateResponse.class);
+                .body(OllamaGenerateResponse.class));
 
         if (response == null || response.getResponse() == null) {
             return "LLM did not return a response.";
@@ -0,0 +1,129 @@
+package com.raghav.datahub.service.outbox;
+
+import com.raghav.datahub.config.IndexingProperties;
+import com.raghav.datahub.domain.model.OutboxMessage;
+import com.raghav.datahub.domain.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to Kafka.
+ *
+ * Each batch is locked with FOR UPDATE SKIP LOCKED, sent as one burst so the producer can
+ * batch it, and marked sent in the same transaction once the broker has acknowledged it.
+ * A crash between send and commit re-publishes the batch, so delivery is at least once;
+ * consumers already claim jobs idempotently.
+ *
+ * A message that fails is retried with exponential backoff, so it does not hold up the rows
+ * behind it, and is parked once it has failed max-attempts times. Parked rows stay in the
+ * table with their last error; resetting attempts to 0 re-queues one.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingProperties.Outbox props;
+
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter parked;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+            @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            IndexingProperties indexingProperties,
+            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.props = indexingProperties.getOutbox();
+        this.relayed = meterRegistry.counter("datahub.outbox.relayed");
+        this.failed = meterRegistry.counter("datahub.outbox.failed");
+        this.parked = meterRegistry.counter("datahub.outbox.parked");
+    }
+
+    /**
+     * Drains full batches back to back, so a burst is published without waiting for the next poll.
+     */
+    @Scheduled(fixedDelayString = "${datahub.indexing.outbox.poll-interval-ms:100}")
+    public void relay() {
+        int sent;
+        do {
+            Integer result = transactionTemplate.execute(status -> relayBatch());
+            sent = result != null ? result : 0;
+        } while (sent == props.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.indexing.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int deleted = outboxRepository.deleteSentBefore(Instant.now().minusMillis(props.getRetentionMs()));
+        if (deleted > 0) {
+            log.info("Purged {} sent outbox messages", deleted);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.lockUnsentBatch(props.getBatchSize(), props.getMaxAttempts());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            futures.add(outboxKafkaTemplate.send(message.getTopic(), message.getMessageKey(), message.getPayload()));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getSendTimeoutMs());
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sentIds.add(message.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                recordFailure(message, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        outboxRepository.markSent(sentIds);
+        relayed.increment(sentIds.size());
+        return sentIds.size();
+    }
+
+    private void recordFailure(OutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        long backoffMs = Math.min(props.getMaxRetryBackoffMs(),
+                props.getRetryBackoffMs() << Math.min(attempts - 1, 20));
+        outboxRepository.recordFailure(message.getId(), e.toString(), Instant.now().plusMillis(backoffMs));
+        failed.increment();
+        if (attempts >= props.getMaxAttempts()) {
+            log.error("Parking outbox message {} to {} after {} failed attempts: {}", message.getId(),
+                    message.getTopic(), attempts, e.toString());
+            parked.increment();
+        } else {
+            log.warn("Failed to publish outbox message {} to {}, retrying in {} ms: {}", message.getId(),
+                    message.getTopic(), backoffMs, e.toString());
+        }
+    }
+}
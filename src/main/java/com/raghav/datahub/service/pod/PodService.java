@@ -1,21 +1,64 @@
 package com.raghav.datahub.service.pod;
 
+import com.raghav.datahub.config.LlmProperties;
+import com.raghav.datahub.config.QueryProperties;
 import com.raghav.datahub.domain.exception.PodNotFoundException;
 import com.raghav.datahub.domain.model.DataItem;
 import com.raghav.datahub.domain.model.Pod;
+import com.raghav.datahub.domain.port.VectorStore;
+import com.raghav.datahub.domain.repository.DeadLetterRepository;
+import com.raghav.datahub.domain.repository.IndexingJobRepository;
+import com.raghav.datahub.domain.repository.OutboxRepository;
+import com.raghav.datahub.domain.repository.PendingItemChangeRepository;
+import com.raghav.datahub.domain.repository.PodEmbeddingModelRepository;
+import com.raghav.datahub.domain.repository.PodIndexRepository;
 import com.raghav.datahub.domain.repository.PodRepository;
+import com.raghav.datahub.domain.repository.QueryJobRepository;
+import com.raghav.datahub.service.dedup.NearDuplicateDetector;
+import com.raghav.datahub.service.embedding.EmbeddingMigrationService;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.service.indexing.ItemEventPublisher;
+import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PodService {
 
+    private static final String POD_DELETED = "Pod deleted";
+
     private final PodRepository podRepository;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+    private final EmbeddingMigrationService embeddingMigrationService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final PendingItemChangeRepository pendingItemChangeRepository;
+    private final PodIndexRepository podIndexRepository;
+    private final PodEmbeddingModelRepository podEmbeddingModelRepository;
+    private final IndexingJobRepository indexingJobRepository;
+    private final QueryJobRepository queryJobRepository;
+    private final OutboxRepository outboxRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final VectorStore vectorStore;
+    private final ItemEventPublisher itemEventPublisher;
+    private final LlmProperties llmProperties;
+    private final QueryProperties queryProperties;
 
-    public Pod createPod(String name, String ownerUserId) {
-        Pod pod = new Pod(name, ownerUserId);
-        return podRepository.save(pod);
+    /**
+     * The pod's model row is created with it; writers treat a pod without one as deleted.
+     */
+    @Transactional
+    public Pod createPod(String name, String ownerUserId, String embeddingModel) {
+        Pod pod = podRepository.save(new Pod(name, ownerUserId));
+        embeddingModelRegistry.assign(pod.getId(),
+                embeddingModel != null ? embeddingModel : llmProperties.getEmbeddingModel());
+        return pod;
     }
 
     public Pod getPod(String podId) {
@@ -26,9 +69,123 @@ public class PodService {
         return pod;
     }
 
+    /**
+     * Near-duplicates of an earlier item are still stored, linked to that item, but are
+     * skipped when the pod is indexed.
+     * Items of auto-indexed pods are queued for the debouncer in the same transaction.
+     */
+    @Transactional
     public void addData(String podId, String content) {
         Pod pod = getPod(podId);
-        pod.addItem(new DataItem(content));
+        DataItem item = new DataItem(content);
+        if (nearDuplicateDetector.isEnabled()) {
+            nearDuplicateDetector.classify(podId, item);
+        }
+        pod.addItem(item);
         podRepository.save(pod);
+        if (pod.isAutoIndex() && item.getCanonicalItemId() == null) {
+            pendingItemChangeRepository.append(podId, item.getId());
+        }
+    }
+
+    /**
+     * Replaces an item's content. Its chunks are re-embedded in the background and keep
+     * answering queries with the old content until then. Items that duplicated it are
+     * re-linked; any that end up canonical are indexed as well.
+     *
+     * @return false if the pod has no such item
+     */
+    @Transactional
+    public boolean updateItem(String podId, String itemId, String content) {
+        DataItem existing = podRepository.findItem(podId, itemId);
+        if (existing == null) {
+            return false;
+        }
+        DataItem item = new DataItem(itemId, content, existing.getCreatedAt());
+        if (nearDuplicateDetector.isEnabled()) {
+            nearDuplicateDetector.classify(podId, item);
+        }
+        podRepository.updateItem(podId, item);
+
+        List<DataItem> toIndex = new ArrayList<>();
+        if (item.getCanonicalItemId() != null) {
+            // Now covered by another item's chunks
+            vectorStore.deleteItemChunks(podId, itemId);
+        } else {
+            toIndex.add(item);
+        }
+        if (existing.getCanonicalItemId() == null) {
+            toIndex.addAll(nearDuplicateDetector.releaseDuplicatesOf(podId, itemId));
+        }
+        itemEventPublisher.publish(podId, toIndex);
+        return true;
+    }
+
+    /**
+     * Removes an item and its chunks. If other items duplicated it, the oldest of them
+     * takes its place and is indexed.
+     *
+     * @return false if the pod has no such item
+     */
+    @Transactional
+    public boolean deleteItem(String podId, String itemId) {
+        DataItem existing = podRepository.findItem(podId, itemId);
+        if (existing == null) {
+            return false;
+        }
+        podRepository.deleteItem(podId, itemId);
+        int chunks = vectorStore.deleteItemChunks(podId, itemId);
+        if (existing.getCanonicalItemId() == null) {
+            itemEventPublisher.publish(podId, nearDuplicateDetector.releaseDuplicatesOf(podId, itemId));
+        }
+        log.info("Deleted item {} of pod {} ({} chunks)", itemId, podId, chunks);
+        return true;
+    }
+
+    /**
+     * Removes the pod with its items, chunks, fallback index and model assignment. Its open
+     * indexing and query jobs are failed, and its unsent outbox messages and dead letters
+     * awaiting replay are dropped, so nothing is dispatched for the pod afterwards. Dead
+     * tuples left in the vector tables are vacuumed in the background.
+     *
+     * The model row goes first: item workers share-lock it while saving, so chunks being
+     * saved are committed before this deletes them, and later saves find no row and are dropped.
+     *
+     * @return false if the pod does not exist
+     */
+    @Transactional
+    public boolean deletePod(String podId) {
+        if (!podRepository.lockForUpdate(podId)) {
+            return false;
+        }
+        podEmbeddingModelRepository.deleteByPodId(podId);
+        int chunks = vectorStore.deleteAllByPodId(podId);
+        pendingItemChangeRepository.deleteByPodId(podId);
+        podIndexRepository.deleteByPodId(podId);
+        int indexingJobs = indexingJobRepository.failOpenByPodId(podId, POD_DELETED);
+        int queryJobs = queryJobRepository.failOpenByPodId(podId, POD_DELETED,
+                Instant.now().plusMillis(queryProperties.getAsync().getRetentionMs()));
+        int messages = outboxRepository.deleteUnsentByPodId(podId);
+        int deadLetters = deadLetterRepository.deletePendingByPodId(podId);
+        podRepository.delete(podId);
+        embeddingModelRegistry.invalidate(podId);
+        log.info("Deleted pod {} ({} chunks, {} indexing jobs and {} query jobs failed, {} outbox messages "
+                + "and {} dead letters dropped)", podId, chunks, indexingJobs, queryJobs, messages, deadLetters);
+        return true;
+    }
+
+    public void setAutoIndex(String podId, boolean autoIndex) {
+        if (!podRepository.setAutoIndex(podId, autoIndex)) {
+            throw new PodNotFoundException(podId);
+        }
+    }
+
+    /**
+     * Moves the pod to another embedding model. Indexed pods keep answering queries with
+     * their current model until the background migration has re-embedded every chunk.
+     */
+    public void setEmbeddingModel(String podId, String model) {
+        getPod(podId);
+        embeddingMigrationService.startMigration(model, List.of(podId));
     }
 }
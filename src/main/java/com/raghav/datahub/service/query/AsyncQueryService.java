@@ -0,0 +1,148 @@
+package com.raghav.datahub.service.query;
+
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.domain.exception.QueryQueueFullException;
+import com.raghav.datahub.domain.model.JobStatus;
+import com.raghav.datahub.domain.model.QueryJob;
+import com.raghav.datahub.domain.repository.QueryJobRepository;
+import com.raghav.datahub.web.dto.QueryRequest;
+import com.raghav.datahub.web.dto.QueryResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs the RAG pipeline in the background, mirroring IndexingService/IndexingJob:
+ * the caller gets a query id immediately and polls for the result.
+ * Finished jobs are kept in Postgres until their retention elapses.
+ *
+ * Each run claims its job under a fresh run id and heartbeats while it works; only the
+ * owning run can store the outcome, so a job re-queued after its node went quiet cannot be
+ * overwritten by the original run finishing late.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncQueryService {
+
+    private final QueryService queryService;
+    private final QueryJobRepository queryJobRepository;
+    private final QueryProperties props;
+    @Qualifier("asyncQueryExecutor")
+    private final ThreadPoolExecutor asyncQueryExecutor;
+
+    private final Set<String> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public QueryJob submit(String podId, QueryRequest request) {
+        queryService.requirePod(podId);
+
+        QueryJob job = new QueryJob(podId, request.question(), retentionFrom(Instant.now()));
+        job.setRecall(request.recall());
+        queryJobRepository.save(job);
+
+        try {
+            asyncQueryExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            queryJobRepository.rejectPending(job.getQueryId(), "Query queue is full", retentionFrom(Instant.now()));
+            throw new QueryQueueFullException("Query queue is full, retry later");
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job, or null if it does not exist or its retention has elapsed.
+     */
+    public QueryJob getJob(String queryId) {
+        QueryJob job = queryJobRepository.findById(queryId);
+        if (job == null || job.getExpiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Queued jobs live only in the executor's memory, so a restart loses them. Jobs that have
+     * been waiting too long, or whose run stopped heartbeating, are queued again; the
+     * PENDING -> RUNNING claim in run() keeps a job that is in fact still queued somewhere
+     * from running twice. Also runs shortly after startup.
+     */
+    @Scheduled(initialDelay = 10_000, fixedDelayString = "${datahub.query.async.recovery-interval-ms:60000}")
+    public void recoverStale() {
+        int capacity = asyncQueryExecutor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant leaseCutoff = now.minusMillis(props.getAsync().getLeaseMs());
+        List<QueryJob> stale = queryJobRepository.findStale(
+                now.minusMillis(props.getAsync().getRecoverAfterMs()), leaseCutoff, capacity);
+        for (QueryJob job : stale) {
+            if (job.getStatus() == JobStatus.RUNNING
+                    && !queryJobRepository.requeueExpired(job.getQueryId(), leaseCutoff)) {
+                continue;
+            }
+            try {
+                asyncQueryExecutor.execute(() -> run(job));
+                log.info("Re-queued stale query job {}", job.getQueryId());
+            } catch (RejectedExecutionException e) {
+                // Still PENDING; picked up by a later scan
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.query.async.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!activeRuns.isEmpty()) {
+            queryJobRepository.heartbeat(List.copyOf(activeRuns));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datahub.query.async.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int deleted = queryJobRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired query jobs", deleted);
+        }
+    }
+
+    private void run(QueryJob job) {
+        String runId = UUID.randomUUID().toString();
+        if (!queryJobRepository.claim(job.getQueryId(), runId)) {
+            log.warn("Query job {} is no longer pending, skipping.", job.getQueryId());
+            return;
+        }
+        activeRuns.add(runId);
+        boolean stored;
+        try {
+            QueryResponse response = queryService.queryPod(job.getPodId(),
+                    new QueryRequest(job.getQuestion(), job.getRecall()));
+            stored = queryJobRepository.markAsCompleted(job.getQueryId(), runId, response.answer(),
+                    response.usedItemIds(), retentionFrom(Instant.now()));
+        } catch (Exception e) {
+            log.error("Query job {} failed", job.getQueryId(), e);
+            stored = queryJobRepository.markAsFailed(job.getQueryId(), runId, e.getMessage(),
+                    retentionFrom(Instant.now()));
+        } finally {
+            activeRuns.remove(runId);
+        }
+        if (!stored) {
+            log.warn("Query job {} was re-queued or removed while running, discarding this run's outcome.",
+                    job.getQueryId());
+        }
+    }
+
+    private Instant retentionFrom(Instant instant) {
+        return instant.plusMillis(props.getAsync().getRetentionMs());
+    }
+}
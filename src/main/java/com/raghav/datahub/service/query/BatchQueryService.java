@@ -0,0 +1,104 @@
+package com.raghav.datahub.service.query;
+
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.domain.model.SearchRecall;
+import com.raghav.datahub.service.embedding.EmbeddingClient;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.web.dto.BatchQueryResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Answers many questions against one pod: the pod is checked once, all questions are
+ * embedded in a single batched call, vector searches run in parallel on virtual threads
+ * and LLM generations are bounded by a per-request semaphore.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchQueryService {
+
+    private final QueryService queryService;
+    private final EmbeddingClient embeddingClient;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+    private final QueryProperties props;
+    @Qualifier("queryExecutorService")
+    private final ExecutorService queryExecutorService;
+
+    /**
+     * Validates the request synchronously, then processes it in the background.
+     * Results are handed to onResult in completion order; the returned future
+     * completes once every question has produced a result.
+     */
+    public CompletableFuture<Void> queryBatch(String podId, List<String> questions, SearchRecall recall,
+            Consumer<BatchQueryResult> onResult) {
+        if (questions.size() > props.getBatch().getMaxQuestions()) {
+            throw new IllegalArgumentException("Batch exceeds " + props.getBatch().getMaxQuestions() + " questions");
+        }
+        queryService.requirePod(podId);
+        String model = embeddingModelRegistry.activeModel(podId);
+
+        return CompletableFuture
+                .supplyAsync(() -> embedAll(podId, model, questions), queryExecutorService)
+                .thenCompose(embeddings -> dispatch(podId, model, questions, recall, embeddings, onResult));
+    }
+
+    private List<List<Double>> embedAll(String podId, String model, List<String> questions) {
+        try {
+            return embeddingClient.generateEmbeddings(questions, model);
+        } catch (Exception e) {
+            // Every question falls back to the PodIndex context in retrieveContext
+            log.warn("Batch embedding failed for pod {}. Error: {}", podId, e.getMessage());
+            return null;
+        }
+    }
+
+    private CompletableFuture<Void> dispatch(String podId, String model, List<String> questions,
+            SearchRecall recall, List<List<Double>> embeddings, Consumer<BatchQueryResult> onResult) {
+        Semaphore llmPermits = new Semaphore(Math.max(1, props.getBatch().getLlmConcurrency()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(questions.size());
+
+        for (int i = 0; i < questions.size(); i++) {
+            int index = i;
+            String question = questions.get(i);
+            List<Double> embedding = embeddings != null ? embeddings.get(i) : null;
+
+            futures.add(CompletableFuture
+                    .runAsync(() -> onResult.accept(answer(podId, model, index, question, embedding, recall,
+                            llmPermits)),
+                            queryExecutorService)
+                    .exceptionally(ex -> {
+                        log.error("Batch question {} failed for pod {}", index, podId, ex);
+                        onResult.accept(new BatchQueryResult(index, question, null, new String[0], ex.getMessage()));
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    private BatchQueryResult answer(String podId, String model, int index, String question,
+            List<Double> embedding, SearchRecall recall, Semaphore llmPermits) {
+        RetrievedContext retrieved = queryService.retrieveContext(podId, model, embedding, recall);
+        try {
+            llmPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for LLM slot", e);
+        }
+        try {
+            String answer = queryService.generateAnswer(retrieved.context(), question);
+            return new BatchQueryResult(index, question, answer, retrieved.usedItemIds(), null);
+        } finally {
+            llmPermits.release();
+        }
+    }
+}
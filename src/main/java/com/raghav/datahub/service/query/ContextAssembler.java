@@ -0,0 +1,169 @@
+package com.raghav.datahub.service.query;
+
+import com.raghav.datahub.config.LlmProperties;
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Packs retrieved chunks into a prompt context of predictable size.
+ *
+ * Pipeline: near-duplicate removal -> MMR selection -> sentence-boundary truncation
+ * against a per-model character budget.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContextAssembler {
+
+    private final QueryProperties props;
+    private final LlmProperties llmProperties;
+
+    /**
+     * Number of candidates to request from the vector store.
+     */
+    public int candidateCount() {
+        return Math.max(props.getTopK(), props.getTopK() * props.getCandidateMultiplier());
+    }
+
+    public PackedContext assemble(float[] queryEmbedding, List<VectorChunkEntity> candidates) {
+        List<VectorChunkEntity> unique = removeNearDuplicates(candidates);
+
+        QueryProperties.Context ctx = props.getContext();
+        double[] relevance = new double[unique.size()];
+        for (int i = 0; i < unique.size(); i++) {
+            relevance[i] = cosine(queryEmbedding, unique.get(i).getEmbedding());
+        }
+
+        int remaining = charBudget();
+        boolean[] taken = new boolean[unique.size()];
+        List<VectorChunkEntity> selected = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+
+        while (selected.size() < props.getTopK() && remaining > 0) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < unique.size(); i++) {
+                if (taken[i]) {
+                    continue;
+                }
+                double redundancy = 0.0;
+                for (VectorChunkEntity s : selected) {
+                    redundancy = Math.max(redundancy, cosine(unique.get(i).getEmbedding(), s.getEmbedding()));
+                }
+                double score = ctx.getMmrLambda() * relevance[i] - (1 - ctx.getMmrLambda()) * redundancy;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            taken[best] = true;
+
+            VectorChunkEntity chunk = unique.get(best);
+            String text = fit(chunk.getContent(), remaining - 1);
+            if (text.isEmpty()) {
+                // Only the separator would still fit
+                break;
+            }
+            sb.append(text).append("\n");
+            remaining -= text.length() + 1;
+            selected.add(chunk);
+        }
+
+        return new PackedContext(sb.toString(), selected);
+    }
+
+    /**
+     * Truncates free text (e.g. the fallback PodIndex) to the context budget.
+     */
+    public String truncate(String text) {
+        return fit(text, charBudget());
+    }
+
+    private int charBudget() {
+        QueryProperties.Context ctx = props.getContext();
+        int tokens = ctx.getModelMaxTokens().getOrDefault(llmProperties.getModel(), ctx.getMaxTokens());
+        return (int) (tokens * ctx.getCharsPerToken());
+    }
+
+    private List<VectorChunkEntity> removeNearDuplicates(List<VectorChunkEntity> candidates) {
+        double threshold = props.getContext().getDuplicateThreshold();
+        Set<String> seenText = new HashSet<>();
+        List<VectorChunkEntity> unique = new ArrayList<>();
+
+        outer:
+        for (VectorChunkEntity c : candidates) {
+            if (c.getContent() == null || c.getContent().isBlank()) {
+                continue;
+            }
+            if (!seenText.add(normalize(c.getContent()))) {
+                continue;
+            }
+            for (VectorChunkEntity u : unique) {
+                if (cosine(c.getEmbedding(), u.getEmbedding()) >= threshold) {
+                    continue outer;
+                }
+            }
+            unique.add(c);
+        }
+        return unique;
+    }
+
+    /**
+     * Returns the longest prefix of text within maxChars that ends on a sentence boundary,
+     * else on a word boundary, else the first maxChars characters.
+     */
+    static String fit(String text, int maxChars) {
+        if (text == null || maxChars <= 0) {
+            return "";
+        }
+        if (text.length() <= maxChars) {
+            return text;
+        }
+        for (int i = maxChars - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            boolean terminator = c == '.' || c == '!' || c == '?' || c == '\n';
+            if (terminator && Character.isWhitespace(text.charAt(i + 1))) {
+                return text.substring(0, i + 1).strip();
+            }
+        }
+        for (int i = maxChars; i > 0; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                String prefix = text.substring(0, i).strip();
+                if (!prefix.isEmpty()) {
+                    return prefix;
+                }
+            }
+        }
+        return text.substring(0, maxChars);
+    }
+
+    private static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length == 0 || a.length != b.length) {
+            return 0.0;
+        }
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        if (na == 0 || nb == 0) {
+            return 0.0;
+        }
+        return dot / (Math.sqrt(na) * Math.sqrt(nb));
+    }
+}
@@ -0,0 +1,13 @@
+package com.raghav.datahub.service.query;
+
+import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
+
+import java.util.List;
+
+/**
+ * Prompt context produced by {@link ContextAssembler}, together with the chunks it was built from.
+ */
+public record PackedContext(
+        String text,
+        List<VectorChunkEntity> chunks
+) {}
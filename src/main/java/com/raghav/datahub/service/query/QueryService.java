@@ -1,13 +1,17 @@
 package com.raghav.datahub.service.query;
 
 import com.raghav.datahub.domain.exception.PodNotFoundException;
-import com.raghav.datahub.domain.model.Pod;
 import com.raghav.datahub.domain.model.PodIndex;
+import com.raghav.datahub.domain.model.SearchRecall;
+import com.raghav.datahub.domain.model.VectorSearchParams;
 import com.raghav.datahub.domain.port.VectorStore;
 import com.raghav.datahub.domain.repository.PodIndexRepository;
 import com.raghav.datahub.domain.repository.PodRepository;
 import com.raghav.datahub.infrastructure.persistence.entity.VectorChunkEntity;
-import com.raghav.datahub.service.embedding.EmbeddingClient;
+import com.raghav.datahub.service.dedup.NearDuplicateDetector;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.service.embedding.HedgedEmbeddingService;
+import com.raghav.datahub.service.embedding.SharedEmbeddings;
 import com.raghav.datahub.service.llm.LlmClient;
 import com.raghav.datahub.web.dto.QueryRequest;
 import com.raghav.datahub.web.dto.QueryResponse;
@@ -22,50 +26,75 @@ import java.util.List;
 @RequiredArgsConstructor
 public class QueryService {
 
-    private static final int TOP_K_CHUNKS = 5;
-
     private final PodRepository podRepository;
     private final PodIndexRepository podIndexRepository;
     private final VectorStore vectorStore;
-    private final EmbeddingClient embeddingClient;
+    private final HedgedEmbeddingService hedgedEmbeddingService;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
     private final LlmClient llmClient;
+    private final ContextAssembler contextAssembler;
+    private final SearchTuningPolicy searchTuningPolicy;
+    private final NearDuplicateDetector nearDuplicateDetector;
 
     public QueryResponse queryPod(String podId, QueryRequest request) {
-        Pod pod = podRepository.findById(podId);
-        if (pod == null) {
-            throw new PodNotFoundException(podId);
+        requirePod(podId);
+        String model = embeddingModelRegistry.activeModel(podId);
+
+        List<Double> questionEmbedding = null;
+        try {
+            questionEmbedding = hedgedEmbeddingService.embed(request.question(), model);
+        } catch (Exception e) {
+            log.warn("Question embedding failed for pod {}. Error: {}", podId, e.getMessage());
         }
 
-        String context;
-        String[] usedItemIds;
+        RetrievedContext retrieved = retrieveContext(podId, model, questionEmbedding, request.recall());
+        String answer = generateAnswer(retrieved.context(), request.question());
 
+        return new QueryResponse(answer, retrieved.usedItemIds());
+    }
+
+    /**
+     * Cheap existence check; avoids loading the pod's items just to validate the id.
+     */
+    public void requirePod(String podId) {
+        if (!podRepository.existsById(podId)) {
+            throw new PodNotFoundException(podId);
+        }
+    }
+
+    /**
+     * RAG retrieval for an already-embedded question, falling back to the aggregated
+     * PodIndex text when the embedding is missing or the vector search fails. Only chunks
+     * embedded with the question's model are searched, tuned for the pod's size and the
+     * requested recall (null for the configured default).
+     */
+    public RetrievedContext retrieveContext(String podId, String model, List<Double> questionEmbedding,
+            SearchRecall recall) {
         try {
-            // RAG path: embedding + vector search (scoped to this pod)
-            List<Double> questionEmbedding = embeddingClient.generateEmbedding(request.question());
-            float[] embeddingArray = toFloatArray(questionEmbedding);
-            List<VectorChunkEntity> similarChunks = vectorStore.findSimilarByPodId(podId, embeddingArray, TOP_K_CHUNKS);
-            context = buildContextFromChunks(similarChunks);
-            usedItemIds = similarChunks.stream().map(VectorChunkEntity::getId).toArray(String[]::new);
+            if (questionEmbedding == null || questionEmbedding.isEmpty()) {
+                throw new IllegalStateException("No question embedding available");
+            }
+            // RAG path: vector search (scoped to this pod)
+            float[] embeddingArray = SharedEmbeddings.toFloatArray(questionEmbedding);
+            int limit = contextAssembler.candidateCount();
+            VectorSearchParams params = searchTuningPolicy.paramsFor(podId, model, limit, recall);
+            List<VectorChunkEntity> candidates = vectorStore.findSimilarByPodId(podId, model, embeddingArray,
+                    limit, params);
+            searchTuningPolicy.record(params, recall, limit, candidates.size());
+            PackedContext packed = contextAssembler.assemble(embeddingArray, candidates);
+            String[] usedItemIds = packed.chunks().stream().map(VectorChunkEntity::getId).toArray(String[]::new);
+            return new RetrievedContext(packed.text(), usedItemIds);
         } catch (Exception e) {
             log.warn("RAG search failed, falling back to PodIndex. Error: {}", e.getMessage());
             // Fallback: use aggregated PodIndex text
-            PodIndex podIndex = podIndexRepository.findByPodId(podId);
-            context = podIndex != null ? podIndex.getCombinedText() : "";
-            usedItemIds = new String[] { "fallback:pod-index" };
+            PodIndex podIndex = podIndexRepository.findByPodId(podId, nearDuplicateDetector.isEnabled());
+            String context = podIndex != null ? contextAssembler.truncate(podIndex.getCombinedText()) : "";
+            return new RetrievedContext(context, new String[] { "fallback:pod-index" });
         }
-
-        String prompt = buildPrompt(context, request.question());
-        String answer = llmClient.generateAnswer(prompt);
-
-        return new QueryResponse(answer, usedItemIds);
     }
 
-    private String buildContextFromChunks(List<VectorChunkEntity> chunks) {
-        StringBuilder sb = new StringBuilder();
-        for (VectorChunkEntity chunk : chunks) {
-            sb.append(chunk.getContent()).append("\n");
-        }
-        return sb.toString();
+    public String generateAnswer(String context, String question) {
+        return llmClient.generateAnswer(buildPrompt(context, question));
     }
 
     private String buildPrompt(String context, String question) {
@@ -77,15 +106,4 @@ public class QueryService {
                 %s
                 """.formatted(context, question);
     }
-
-    private float[] toFloatArray(List<Double> list) {
-        if (list == null || list.isEmpty())
-            return new float[0];
-        float[] floatArray = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            Double val = list.get(i);
-            floatArray[i] = (val != null) ? val.floatValue() : 0.0f;
-        }
-        return floatArray;
-    }
 }
@@ -0,0 +1,9 @@
+package com.raghav.datahub.service.query;
+
+/**
+ * Context text handed to the LLM, with the ids of the chunks (or fallback source) it came from.
+ */
+public record RetrievedContext(
+        String context,
+        String[] usedItemIds
+) {}
@@ -0,0 +1,83 @@
+package com.raghav.datahub.service.query;
+
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.domain.model.SearchRecall;
+import com.raghav.datahub.domain.model.VectorSearchParams;
+import com.raghav.datahub.domain.port.VectorStore;
+import com.raghav.datahub.infrastructure.cache.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the search parameters for a pod-scoped vector query.
+ *
+ * An HNSW scan applies the pod filter after walking the graph, so with the default
+ * ef_search a pod holding a small share of the table gets back far fewer than the requested
+ * chunks. Small pods are therefore searched exactly. Larger pods use an iterative scan,
+ * allowed to visit about as many tuples as it takes to meet the pod's chunks limit times,
+ * scaled by the requested recall level.
+ */
+@Component
+public class SearchTuningPolicy {
+
+    /**
+     * Largest hnsw.ef_search pgvector accepts.
+     */
+    private static final int MAX_EF_SEARCH = 1000;
+
+    private static final int MAX_CACHED_POD_SIZES = 10_000;
+
+    private final VectorStore vectorStore;
+    private final QueryProperties props;
+    private final MeterRegistry meterRegistry;
+    private final ExpiringCache<String, Long> podSizes;
+
+    public SearchTuningPolicy(VectorStore vectorStore, QueryProperties props, MeterRegistry meterRegistry) {
+        this.vectorStore = vectorStore;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.podSizes = new ExpiringCache<>(MAX_CACHED_POD_SIZES, props.getSearch().getPodSizeCacheMs());
+    }
+
+    /**
+     * @param recall requested recall level, or null for the configured default
+     */
+    public VectorSearchParams paramsFor(String podId, String model, int limit, SearchRecall recall) {
+        QueryProperties.Search search = props.getSearch();
+        long podChunks = podChunks(podId, model);
+        if (podChunks <= search.getExactMaxChunks()) {
+            return VectorSearchParams.exactScan();
+        }
+
+        QueryProperties.Search.Level level = search.level(resolve(recall));
+        int efSearch = Math.min(MAX_EF_SEARCH, Math.max(level.getEfSearch(), limit));
+        // The estimate lags behind writes; the pod's own count is a floor for it
+        long tableChunks = Math.max(vectorStore.estimateCount(model), podChunks);
+        double share = (double) podChunks / tableChunks;
+        long expected = (long) Math.ceil(limit / share * level.getScanFactor());
+        int maxScanTuples = (int) Math.min(search.getMaxScanTuples(), Math.max(expected, efSearch));
+        return new VectorSearchParams(false, efSearch, search.getIterativeScan(), maxScanTuples);
+    }
+
+    /**
+     * Counts searches by mode and recall, and whether they came back with fewer chunks than requested.
+     */
+    public void record(VectorSearchParams params, SearchRecall recall, int limit, int returned) {
+        meterRegistry.counter("datahub.query.vector.searches",
+                "mode", params.exact() ? "exact" : "hnsw",
+                "recall", resolve(recall).name(),
+                "result", returned < limit && !params.exact() ? "short" : "full").increment();
+    }
+
+    private SearchRecall resolve(SearchRecall recall) {
+        return recall != null ? recall : props.getSearch().getDefaultRecall();
+    }
+
+    /**
+     * Counting a large pod walks its part of the pod_id index, so the result is reused for
+     * a while; the policy only needs the order of magnitude.
+     */
+    private long podChunks(String podId, String model) {
+        return podSizes.get(podId + "|" + model, key -> vectorStore.countByPodId(podId, model));
+    }
+}
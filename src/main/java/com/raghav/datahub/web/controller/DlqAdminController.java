@@ -0,0 +1,67 @@
+package com.raghav.datahub.web.controller;
+
+import com.raghav.datahub.domain.model.DeadLetterFilter;
+import com.raghav.datahub.service.dlq.DlqReplayService;
+import com.raghav.datahub.service.dlq.ReplayRun;
+import com.raghav.datahub.web.dto.DlqStatsResponse;
+import com.raghav.datahub.web.dto.ReplayDlqRequest;
+import com.raghav.datahub.web.dto.ReplayRunResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/dlq")
+@RequiredArgsConstructor
+public class DlqAdminController {
+
+    private final DlqReplayService replayService;
+
+    /**
+     * Depths are refreshed periodically, not per request.
+     */
+    @GetMapping
+    public ResponseEntity<DlqStatsResponse> stats() {
+        return ResponseEntity.ok(new DlqStatsResponse(
+                replayService.getPendingDepth(),
+                replayService.getQuarantinedDepth()));
+    }
+
+    @PostMapping("/replays")
+    public ResponseEntity<ReplayRunResponse> replay(@Valid @RequestBody ReplayDlqRequest req) {
+        DeadLetterFilter filter = new DeadLetterFilter(req.podId(), req.failedFrom(), req.failedTo(), req.errorClass());
+        ReplayRun run = replayService.startReplay(filter, req.ratePerSecond());
+        return ResponseEntity.accepted().body(toResponse(run));
+    }
+
+    @GetMapping("/replays/{replayId}")
+    public ResponseEntity<ReplayRunResponse> getReplay(@PathVariable String replayId) {
+        ReplayRun run = replayService.getReplay(replayId);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toResponse(run));
+    }
+
+    @DeleteMapping("/replays/{replayId}")
+    public ResponseEntity<ReplayRunResponse> cancelReplay(@PathVariable String replayId) {
+        ReplayRun run = replayService.cancelReplay(replayId);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().body(toResponse(run));
+    }
+
+    private static ReplayRunResponse toResponse(ReplayRun run) {
+        return new ReplayRunResponse(
+                run.getReplayId(),
+                run.getStatus().name(),
+                run.getRatePerSecond(),
+                run.getMatched(),
+                run.getReplayedCount(),
+                run.getStartedAt(),
+                run.getFinishedAt(),
+                run.getErrorMessage());
+    }
+}
@@ -0,0 +1,97 @@
+package com.raghav.datahub.web.controller;
+
+import com.raghav.datahub.domain.model.PodEmbeddingModel;
+import com.raghav.datahub.service.embedding.EmbeddingMigrationService;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
+import com.raghav.datahub.web.dto.EmbeddingMigrationResponse;
+import com.raghav.datahub.web.dto.StartEmbeddingMigrationRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/embedding-migrations")
+@RequiredArgsConstructor
+public class EmbeddingMigrationController {
+
+    private final EmbeddingMigrationService migrationService;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
+
+    @PostMapping
+    public ResponseEntity<List<EmbeddingMigrationResponse>> start(
+            @Valid @RequestBody StartEmbeddingMigrationRequest req) {
+        if (!embeddingModelRegistry.isAllowed(req.targetModel())) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<PodEmbeddingModel> started = migrationService.startMigration(req.targetModel(), req.podIds());
+        return ResponseEntity.accepted().body(started.stream().map(EmbeddingMigrationController::toResponse).toList());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<EmbeddingMigrationResponse>> list() {
+        return ResponseEntity.ok(migrationService.listMigrations().stream()
+                .map(EmbeddingMigrationController::toResponse)
+                .toList());
+    }
+
+    @GetMapping("/{podId}")
+    public ResponseEntity<EmbeddingMigrationResponse> get(@PathVariable String podId) {
+        PodEmbeddingModel model = migrationService.getMigration(podId);
+        if (model == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toResponse(model));
+    }
+
+    private static EmbeddingMigrationResponse toResponse(PodEmbeddingModel model) {
+        return new EmbeddingMigrationResponse(
+                model.getPodId(),
+                model.getActiveModel(),
+                model.getTargetModel(),
+                model.getMigrationStatus() != null ? model.getMigrationStatus().name() : null,
+                model.getTotalItems(),
+                model.getMigratedItems(),
+                progressPercent(model),
+                itemsPerSecond(model),
+                etaSeconds(model),
+                model.getStartedAt(),
+                model.getFinishedAt(),
+                model.getErrorMessage());
+    }
+
+    private static Double progressPercent(PodEmbeddingModel model) {
+        if (model.getMigrationStatus() == null) {
+            return null;
+        }
+        if (model.getTotalItems() == 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, model.getMigratedItems() * 100.0 / model.getTotalItems());
+    }
+
+    private static Double itemsPerSecond(PodEmbeddingModel model) {
+        if (model.getStartedAt() == null) {
+            return null;
+        }
+        Instant end = model.getFinishedAt() != null ? model.getFinishedAt() : Instant.now();
+        long elapsedMs = Duration.between(model.getStartedAt(), end).toMillis();
+        if (elapsedMs <= 0) {
+            return null;
+        }
+        return model.getMigratedItems() * 1000.0 / elapsedMs;
+    }
+
+    private static Long etaSeconds(PodEmbeddingModel model) {
+        Double rate = itemsPerSecond(model);
+        if (!model.isMigrating() || rate == null || rate == 0) {
+            return null;
+        }
+        long remaining = Math.max(0, model.getTotalItems() - model.getMigratedItems());
+        return (long) Math.ceil(remaining / rate);
+    }
+}
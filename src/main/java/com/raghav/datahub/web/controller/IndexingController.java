@@ -8,6 +8,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @RestController
 @RequestMapping("/indexing")
 @RequiredArgsConstructor
@@ -35,9 +38,48 @@ public class IndexingController {
                 job.getCreatedAt(),
                 job.getStartedAt(),
                 job.getFinishedAt(),
-                job.getErrorMessage()
+                job.getErrorMessage(),
+                job.getExpectedItems(),
+                job.getProcessedItems(),
+                job.getFailedItems(),
+                progressPercent(job),
+                itemsPerSecond(job),
+                etaSeconds(job)
         );
 
         return ResponseEntity.ok(response);
     }
+
+    private static Double progressPercent(IndexingJob job) {
+        Long expected = job.getExpectedItems();
+        if (expected == null) {
+            return null;
+        }
+        if (expected == 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, 100.0 * (job.getProcessedItems() + job.getFailedItems()) / expected);
+    }
+
+    private static Double itemsPerSecond(IndexingJob job) {
+        if (job.getStartedAt() == null) {
+            return null;
+        }
+        Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+        long elapsedMs = Duration.between(job.getStartedAt(), end).toMillis();
+        if (elapsedMs <= 0) {
+            return null;
+        }
+        return (job.getProcessedItems() + job.getFailedItems()) * 1000.0 / elapsedMs;
+    }
+
+    private static Long etaSeconds(IndexingJob job) {
+        Long expected = job.getExpectedItems();
+        Double rate = itemsPerSecond(job);
+        if (expected == null || job.getFinishedAt() != null || rate == null || rate == 0) {
+            return null;
+        }
+        long remaining = Math.max(0, expected - job.getProcessedItems() - job.getFailedItems());
+        return (long) Math.ceil(remaining / rate);
+    }
 }
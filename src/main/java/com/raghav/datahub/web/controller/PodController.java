@@ -1,11 +1,15 @@
 package com.raghav.datahub.web.controller;
 
 import com.raghav.datahub.domain.model.Pod;
+import com.raghav.datahub.service.embedding.EmbeddingModelRegistry;
 import com.raghav.datahub.service.pod.PodService;
 import com.raghav.datahub.web.dto.AddDataRequest;
 import com.raghav.datahub.web.dto.CreatePodRequest;
 import com.raghav.datahub.web.dto.CreatePodResponse;
 import com.raghav.datahub.web.dto.PodMetadataResponse;
+import com.raghav.datahub.web.dto.SetAutoIndexRequest;
+import com.raghav.datahub.web.dto.SetEmbeddingModelRequest;
+import com.raghav.datahub.web.dto.UpdateItemRequest;
 import com.raghav.datahub.web.mapper.PodMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,10 +23,14 @@ public class PodController {
 
     private final PodService podService;
     private final PodMapper podMapper;
+    private final EmbeddingModelRegistry embeddingModelRegistry;
 
     @PostMapping
     public ResponseEntity<CreatePodResponse> createPod(@Valid @RequestBody CreatePodRequest request) {
-        Pod pod = podService.createPod(request.name(), request.ownerUserId());
+        if (request.embeddingModel() != null && !embeddingModelRegistry.isAllowed(request.embeddingModel())) {
+            return ResponseEntity.badRequest().build();
+        }
+        Pod pod = podService.createPod(request.name(), request.ownerUserId(), request.embeddingModel());
         return ResponseEntity.ok(new CreatePodResponse(pod.getId()));
     }
 
@@ -34,6 +42,62 @@ public class PodController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * The item is re-embedded in the background; queries see the new content once it is.
+     */
+    @PutMapping("/{podId}/items/{itemId}")
+    public ResponseEntity<Void> updateItem(
+            @PathVariable String podId,
+            @PathVariable String itemId,
+            @Valid @RequestBody UpdateItemRequest request) {
+        if (!podService.updateItem(podId, itemId, request.content())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @DeleteMapping("/{podId}/items/{itemId}")
+    public ResponseEntity<Void> deleteItem(@PathVariable String podId, @PathVariable String itemId) {
+        if (!podService.deleteItem(podId, itemId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{podId}")
+    public ResponseEntity<Void> deletePod(@PathVariable String podId) {
+        if (!podService.deletePod(podId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Progress of the resulting migration is reported by /admin/embedding-migrations/{podId}.
+     */
+    @PutMapping("/{podId}/embedding-model")
+    public ResponseEntity<Void> setEmbeddingModel(
+            @PathVariable String podId,
+            @Valid @RequestBody SetEmbeddingModelRequest request) {
+        if (!embeddingModelRegistry.isAllowed(request.model())) {
+            return ResponseEntity.badRequest().build();
+        }
+        podService.setEmbeddingModel(podId, request.model());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Enabled: items added from now on are indexed within the debounce window, without an
+     * indexing job. Items already in the pod still need one.
+     */
+    @PutMapping("/{podId}/auto-index")
+    public ResponseEntity<Void> setAutoIndex(
+            @PathVariable String podId,
+            @Valid @RequestBody SetAutoIndexRequest request) {
+        podService.setAutoIndex(podId, request.enabled());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{podId}")
     public ResponseEntity<PodMetadataResponse> getPod(@PathVariable String podId) {
         Pod pod = podService.getPod(podId);
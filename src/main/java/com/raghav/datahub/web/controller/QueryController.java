@@ -1,20 +1,39 @@
 package com.raghav.datahub.web.controller;
 
+import com.raghav.datahub.config.QueryProperties;
+import com.raghav.datahub.domain.exception.QueryQueueFullException;
+import com.raghav.datahub.domain.model.QueryJob;
+import com.raghav.datahub.service.query.AsyncQueryService;
+import com.raghav.datahub.service.query.BatchQueryService;
 import com.raghav.datahub.service.query.QueryService;
+import com.raghav.datahub.web.dto.BatchQueryRequest;
+import com.raghav.datahub.web.dto.BatchQueryResult;
 import com.raghav.datahub.web.dto.QueryRequest;
 import com.raghav.datahub.web.dto.QueryResponse;
+import com.raghav.datahub.web.dto.StartQueryResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
-@RequestMapping("/pods/{podId}/query")
+@RequestMapping("/pods/{podId}")
 public class QueryController {
 
     private final QueryService queryService;
+    private final BatchQueryService batchQueryService;
+    private final AsyncQueryService asyncQueryService;
+    private final QueryProperties queryProperties;
 
-    @PostMapping
+    @PostMapping("/query")
     public ResponseEntity<QueryResponse> query(
             @PathVariable String podId,
             @RequestBody QueryRequest req
@@ -22,4 +41,54 @@ public class QueryController {
         QueryResponse response = queryService.queryPod(podId, req);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Queues the query and returns immediately; poll GET /queries/{queryId} for the answer.
+     */
+    @PostMapping("/query:async")
+    public ResponseEntity<StartQueryResponse> queryAsync(
+            @PathVariable String podId,
+            @Valid @RequestBody QueryRequest req
+    ) {
+        try {
+            QueryJob job = asyncQueryService.submit(podId, req);
+            return ResponseEntity.accepted().body(new StartQueryResponse(job.getQueryId()));
+        } catch (QueryQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * Streams one JSON object per line (NDJSON) in completion order.
+     */
+    @PostMapping(value = "/query:batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter queryBatch(
+            @PathVariable String podId,
+            @Valid @RequestBody BatchQueryRequest req
+    ) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(queryProperties.getBatch().getTimeoutMs());
+
+        batchQueryService.queryBatch(podId, req.questions(), req.recall(), result -> send(emitter, result))
+                .whenComplete((ignored, ex) -> {
+                    if (ex == null) {
+                        emitter.complete();
+                    } else {
+                        emitter.completeWithError(ex);
+                    }
+                });
+
+        return emitter;
+    }
+
+    private void send(ResponseBodyEmitter emitter, BatchQueryResult result) {
+        // Results arrive from many virtual threads; keep each JSON line and its newline together
+        synchronized (emitter) {
+            try {
+                emitter.send(result, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException e) {
+                log.warn("Client disconnected from batch query stream: {}", e.getMessage());
+            }
+        }
+    }
+}
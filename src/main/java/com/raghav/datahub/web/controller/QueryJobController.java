@@ -0,0 +1,40 @@
+package com.raghav.datahub.web.controller;
+
+import com.raghav.datahub.domain.model.QueryJob;
+import com.raghav.datahub.service.query.AsyncQueryService;
+import com.raghav.datahub.web.dto.QueryJobResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/queries")
+@RequiredArgsConstructor
+public class QueryJobController {
+
+    private final AsyncQueryService asyncQueryService;
+
+    @GetMapping("/{queryId}")
+    public ResponseEntity<QueryJobResponse> getQuery(@PathVariable String queryId) {
+        QueryJob job = asyncQueryService.getJob(queryId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        QueryJobResponse response = new QueryJobResponse(
+                job.getQueryId(),
+                job.getPodId(),
+                job.getQuestion(),
+                job.getStatus(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getAnswer(),
+                job.getUsedItemIds(),
+                job.getErrorMessage(),
+                job.getExpiresAt()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,88 @@
+package com.raghav.datahub.web.controller;
+
+import com.raghav.datahub.infrastructure.persistence.adapter.VectorBulkLoader;
+import com.raghav.datahub.infrastructure.persistence.adapter.VectorPrecisionConverter;
+import com.raghav.datahub.infrastructure.persistence.adapter.VectorTable;
+import com.raghav.datahub.infrastructure.persistence.adapter.VectorTableCatalog;
+import com.raghav.datahub.web.dto.VectorTableResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/vector-tables")
+@RequiredArgsConstructor
+public class VectorTableAdminController {
+
+    private final VectorTableCatalog catalog;
+    private final VectorPrecisionConverter converter;
+    private final VectorBulkLoader bulkLoader;
+
+    @GetMapping
+    public ResponseEntity<List<VectorTableResponse>> list() {
+        return ResponseEntity.ok(catalog.findAll().stream().map(this::toResponse).toList());
+    }
+
+    /**
+     * Starts converting the model's table to HALF precision. Poll the list for progress.
+     */
+    @PostMapping("/{model}/half-precision")
+    public ResponseEntity<VectorTableResponse> convert(@PathVariable String model) {
+        VectorTable table = converter.startConversion(model);
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (table.stagingTable() != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(table));
+        }
+        return ResponseEntity.accepted().body(toResponse(table));
+    }
+
+    /**
+     * Routes the model's writes to an unindexed staging table until the load is finished.
+     */
+    @PostMapping("/{model}/bulk-load")
+    public ResponseEntity<VectorTableResponse> startBulkLoad(@PathVariable String model) {
+        VectorTable table = bulkLoader.start(model);
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (table.converting()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(table));
+        }
+        return ResponseEntity.ok(toResponse(table));
+    }
+
+    /**
+     * Builds the staging table's indexes and swaps it in. Poll the list until bulkStatus clears.
+     */
+    @PostMapping("/{model}/bulk-load/finish")
+    public ResponseEntity<VectorTableResponse> finishBulkLoad(@PathVariable String model) {
+        VectorTable table = bulkLoader.finish(model);
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (table.bulkStatus() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(table));
+        }
+        return ResponseEntity.accepted().body(toResponse(table));
+    }
+
+    private VectorTableResponse toResponse(VectorTable table) {
+        long[] sizes = catalog.sizes(table);
+        return new VectorTableResponse(
+                table.model(),
+                table.dimensions(),
+                table.tableName(),
+                table.precision().name(),
+                table.converting(),
+                converter.pendingRows(table),
+                table.bulkStatus(),
+                bulkLoader.stagedRows(table),
+                sizes[0],
+                sizes[1]);
+    }
+}
@@ -0,0 +1,13 @@
+package com.raghav.datahub.web.dto;
+
+import com.raghav.datahub.domain.model.SearchRecall;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchQueryRequest(
+        @NotEmpty List<@NotBlank @Size(max = 500) String> questions,
+        SearchRecall recall
+) {}
@@ -0,0 +1,12 @@
+package com.raghav.datahub.web.dto;
+
+/**
+ * One line of the streamed batch response; index refers to the position in the request.
+ */
+public record BatchQueryResult(
+        int index,
+        String question,
+        String answer,
+        String[] usedItemIds,
+        String error
+) {}
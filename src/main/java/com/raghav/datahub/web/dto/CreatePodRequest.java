@@ -3,7 +3,11 @@ package com.raghav.datahub.web.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+/**
+ * embeddingModel is optional and defaults to datahub.llm.embedding-model.
+ */
 public record CreatePodRequest(
         @NotBlank @Size(max = 100) String name,
-        @NotBlank String ownerUserId
+        @NotBlank String ownerUserId,
+        @Size(max = 50) String embeddingModel
 ) {}
\ No newline at end of file
@@ -0,0 +1,3 @@
+package com.raghav.datahub.web.dto;
+
+public record DlqStatsResponse(long pending, long quarantined) {}
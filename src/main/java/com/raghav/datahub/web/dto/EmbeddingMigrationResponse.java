@@ -0,0 +1,18 @@
+package com.raghav.datahub.web.dto;
+
+import java.time.Instant;
+
+public record EmbeddingMigrationResponse(
+        String podId,
+        String activeModel,
+        String targetModel,
+        String status,
+        long totalItems,
+        long migratedItems,
+        Double progressPercent,
+        Double itemsPerSecond,
+        Long etaSeconds,
+        Instant startedAt,
+        Instant finishedAt,
+        String errorMessage
+) {}
@@ -3,6 +3,10 @@ package com.raghav.datahub.web.dto;
 import com.raghav.datahub.domain.model.JobStatus;
 import java.time.Instant;
 
+/**
+ * expectedItems, progressPercent and etaSeconds stay null until fan-out has finished
+ * and the total is known.
+ */
 public record IndexingJobResponse(
         String jobId,
         String podId,
@@ -10,5 +14,11 @@ public record IndexingJobResponse(
         Instant createdAt,
         Instant startedAt,
         Instant finishedAt,
-        String errorMessage
-) {}
\ No newline at end of file
+        String errorMessage,
+        Long expectedItems,
+        long processedItems,
+        long failedItems,
+        Double progressPercent,
+        Double itemsPerSecond,
+        Long etaSeconds
+) {}
@@ -4,5 +4,6 @@ public record PodMetadataResponse(
         String id,
         String name,
         String ownerUserId,
-        int totalItems
+        int totalItems,
+        boolean autoIndex
 ) {}
\ No newline at end of file
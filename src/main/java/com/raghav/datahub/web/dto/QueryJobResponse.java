@@ -0,0 +1,18 @@
+package com.raghav.datahub.web.dto;
+
+import com.raghav.datahub.domain.model.JobStatus;
+import java.time.Instant;
+
+public record QueryJobResponse(
+        String queryId,
+        String podId,
+        String question,
+        JobStatus status,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String answer,
+        String[] usedItemIds,
+        String errorMessage,
+        Instant expiresAt
+) {}
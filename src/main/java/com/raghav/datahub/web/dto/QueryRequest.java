@@ -1,8 +1,13 @@
 package com.raghav.datahub.web.dto;
 
+import com.raghav.datahub.domain.model.SearchRecall;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+/**
+ * @param recall recall/latency trade-off of the vector search; null uses datahub.query.search.default-recall
+ */
 public record QueryRequest(
-        @NotBlank @Size(max = 500) String question
+        @NotBlank @Size(max = 500) String question,
+        SearchRecall recall
 ) {}
\ No newline at end of file
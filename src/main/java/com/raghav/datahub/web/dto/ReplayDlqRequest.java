@@ -0,0 +1,16 @@
+package com.raghav.datahub.web.dto;
+
+import jakarta.validation.constraints.Positive;
+
+import java.time.Instant;
+
+/**
+ * All filters are optional; an empty request replays every pending dead letter.
+ */
+public record ReplayDlqRequest(
+        String podId,
+        Instant failedFrom,
+        Instant failedTo,
+        String errorClass,
+        @Positive Double ratePerSecond
+) {}
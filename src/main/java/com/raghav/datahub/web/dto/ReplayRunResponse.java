@@ -0,0 +1,14 @@
+package com.raghav.datahub.web.dto;
+
+import java.time.Instant;
+
+public record ReplayRunResponse(
+        String replayId,
+        String status,
+        double ratePerSecond,
+        long matched,
+        long replayed,
+        Instant startedAt,
+        Instant finishedAt,
+        String errorMessage
+) {}
@@ -0,0 +1,7 @@
+package com.raghav.datahub.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetAutoIndexRequest(
+        @NotNull Boolean enabled
+) {}
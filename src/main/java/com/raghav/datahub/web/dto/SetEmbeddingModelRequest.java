@@ -0,0 +1,8 @@
+package com.raghav.datahub.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record SetEmbeddingModelRequest(
+        @NotBlank @Size(max = 50) String model
+) {}
@@ -0,0 +1,13 @@
+package com.raghav.datahub.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * An empty podIds list migrates every pod that has indexed chunks.
+ */
+public record StartEmbeddingMigrationRequest(
+        @NotBlank String targetModel,
+        List<String> podIds
+) {}
@@ -0,0 +1,3 @@
+package com.raghav.datahub.web.dto;
+
+public record StartQueryResponse(String queryId) {}
@@ -0,0 +1,14 @@
+package com.raghav.datahub.web.dto;
+
+public record VectorTableResponse(
+        String model,
+        int dimensions,
+        String tableName,
+        String precision,
+        boolean converting,
+        long pendingRows,
+        String bulkStatus,
+        long stagedRows,
+        long tableBytes,
+        long indexBytes
+) {}
@@ -0,0 +1,18 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:3-query-jobs
+CREATE TABLE query_jobs (
+    query_id VARCHAR(255) PRIMARY KEY,
+    pod_id VARCHAR(255) NOT NULL,
+    question TEXT NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    answer TEXT,
+    used_item_ids TEXT[],
+    error_message VARCHAR(2000),
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_query_jobs_expires_at ON query_jobs(expires_at);
@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:4-job-progress
+ALTER TABLE indexing_jobs
+    ADD COLUMN expected_items BIGINT,
+    ADD COLUMN processed_items BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN failed_items BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN fanned_out_at TIMESTAMP;
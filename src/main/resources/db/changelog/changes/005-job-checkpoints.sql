@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:5-job-checkpoints
+ALTER TABLE indexing_jobs
+    ADD COLUMN checkpoint_item_id VARCHAR(255),
+    ADD COLUMN checkpoint_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN heartbeat_at TIMESTAMP;
+
+-- Keyset pagination over a pod's items in id order
+CREATE INDEX idx_data_items_pod_id_id ON data_items(pod_id, id);
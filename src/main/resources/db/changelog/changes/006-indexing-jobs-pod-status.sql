@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:6-indexing-jobs-pod-status
+-- Coalescing looks up a pod's PENDING/RUNNING jobs on every indexing request
+CREATE INDEX idx_indexing_jobs_pod_id_status ON indexing_jobs(pod_id, status);
@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:7-outbox
+CREATE TABLE outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(2000)
+);
+
+-- The relay only ever scans unsent rows in id order
+CREATE INDEX idx_outbox_messages_unsent ON outbox_messages(id) WHERE sent_at IS NULL;
+CREATE INDEX idx_outbox_messages_sent_at ON outbox_messages(sent_at);
@@ -0,0 +1,21 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:8-dead-letters
+CREATE TABLE dead_letters (
+    id BIGSERIAL PRIMARY KEY,
+    source_topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    pod_id VARCHAR(255),
+    job_id VARCHAR(255),
+    data_item_id VARCHAR(255),
+    error_class VARCHAR(255),
+    error_message VARCHAR(2000),
+    attempts INT NOT NULL,
+    failed_at TIMESTAMP NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    replayed_at TIMESTAMP
+);
+
+CREATE INDEX idx_dead_letters_status_pod_id ON dead_letters(status, pod_id);
+CREATE INDEX idx_dead_letters_status_failed_at ON dead_letters(status, failed_at);
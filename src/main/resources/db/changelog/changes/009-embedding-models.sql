@@ -0,0 +1,23 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:9-embedding-models
+CREATE TABLE pod_embedding_models (
+    pod_id VARCHAR(255) PRIMARY KEY,
+    active_model VARCHAR(100) NOT NULL,
+    target_model VARCHAR(100),
+    migration_status VARCHAR(32),
+    total_items BIGINT NOT NULL DEFAULT 0,
+    migrated_items BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    error_message VARCHAR(2000)
+);
+
+CREATE INDEX idx_pod_embedding_models_status ON pod_embedding_models(migration_status);
+
+-- Shadow vectors written by a migration until the pod switches over
+ALTER TABLE vector_chunks ADD COLUMN embedding_next vector(768);
+ALTER TABLE vector_chunks ADD COLUMN model_version_next VARCHAR(255);
+
+-- Migration batches walk a pod's chunks in id order
+CREATE INDEX idx_vector_chunks_pod_id_id ON vector_chunks(pod_id, id);
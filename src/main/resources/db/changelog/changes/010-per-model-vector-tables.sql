@@ -0,0 +1,18 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:10-per-model-vector-tables
+-- One vector table per embedding model; tables for new models are created on first use
+CREATE TABLE embedding_models (
+    model VARCHAR(50) PRIMARY KEY,
+    dimensions INT NOT NULL,
+    table_name VARCHAR(63) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Existing chunks were embedded with the configured model
+INSERT INTO embedding_models (model, dimensions, table_name)
+VALUES ('${default-embedding-model}', 768, 'vector_chunks');
+
+-- Migrations now write to the target model's table instead of shadow columns
+ALTER TABLE vector_chunks DROP COLUMN embedding_next;
+ALTER TABLE vector_chunks DROP COLUMN model_version_next;
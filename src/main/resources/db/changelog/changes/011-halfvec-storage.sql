@@ -0,0 +1,14 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:11-halfvec-storage
+ALTER TABLE embedding_models ADD COLUMN storage_precision VARCHAR(16) NOT NULL DEFAULT 'FULL';
+ALTER TABLE embedding_models ADD COLUMN conversion_status VARCHAR(32);
+
+-- changeset raghav-ai:11-sync-embedding-half splitStatements:false
+-- Keeps the halfvec shadow column of a table being converted in step with live writes
+CREATE OR REPLACE FUNCTION sync_embedding_half() RETURNS trigger AS $$
+BEGIN
+    NEW.embedding_half := NEW.embedding::halfvec;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
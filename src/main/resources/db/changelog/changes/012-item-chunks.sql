@@ -0,0 +1,20 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:12-item-chunks splitStatements:false
+-- Items are split into several chunks; record which item and position each chunk comes from.
+-- Per-model tables are created at runtime, so every table in the catalog is altered.
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT table_name FROM embedding_models LOOP
+        EXECUTE format('ALTER TABLE %I ADD COLUMN IF NOT EXISTS data_item_id VARCHAR(255)', t.table_name);
+        EXECUTE format('ALTER TABLE %I ADD COLUMN IF NOT EXISTS chunk_index INT', t.table_name);
+        -- Whole-item chunks used the id podId:itemId
+        EXECUTE format('UPDATE %I SET data_item_id = substr(id, length(pod_id) + 2) WHERE data_item_id IS NULL',
+                t.table_name);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I (pod_id, data_item_id)',
+                t.table_name || '_pod_id_item', t.table_name);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,18 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:13-near-duplicates
+-- SimHash fingerprint of each item and the earlier item it nearly duplicates (NULL = canonical).
+ALTER TABLE data_items ADD COLUMN simhash BIGINT;
+ALTER TABLE data_items ADD COLUMN canonical_item_id VARCHAR(255);
+
+-- The fingerprint split into four 16-bit bands. Fingerprints within 3 bits of each other
+-- share at least one band, so candidates are found with equality lookups.
+ALTER TABLE data_items ADD COLUMN simhash_b0 INT GENERATED ALWAYS AS (((simhash >> 48) & 65535)::int) STORED;
+ALTER TABLE data_items ADD COLUMN simhash_b1 INT GENERATED ALWAYS AS (((simhash >> 32) & 65535)::int) STORED;
+ALTER TABLE data_items ADD COLUMN simhash_b2 INT GENERATED ALWAYS AS (((simhash >> 16) & 65535)::int) STORED;
+ALTER TABLE data_items ADD COLUMN simhash_b3 INT GENERATED ALWAYS AS ((simhash & 65535)::int) STORED;
+
+CREATE INDEX idx_data_items_simhash_b0 ON data_items(pod_id, simhash_b0) WHERE canonical_item_id IS NULL;
+CREATE INDEX idx_data_items_simhash_b1 ON data_items(pod_id, simhash_b1) WHERE canonical_item_id IS NULL;
+CREATE INDEX idx_data_items_simhash_b2 ON data_items(pod_id, simhash_b2) WHERE canonical_item_id IS NULL;
+CREATE INDEX idx_data_items_simhash_b3 ON data_items(pod_id, simhash_b3) WHERE canonical_item_id IS NULL;
@@ -0,0 +1,26 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:14-shared-embeddings splitStatements:false
+-- Embeddings shared across pods, keyed by the SHA-256 of the embedded text and the model.
+-- The vector column is unsized so every model fits; rows are only read by key.
+CREATE TABLE embeddings (
+    content_hash VARCHAR(64) NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    embedding vector NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (content_hash, model)
+);
+
+-- Chunks record which shared embedding they use. The table is not seeded from existing
+-- chunks: it fills as texts are embedded.
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT table_name FROM embedding_models LOOP
+        EXECUTE format('ALTER TABLE %I ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64)', t.table_name);
+        EXECUTE format('UPDATE %I SET content_hash = encode(sha256(convert_to(content, ''UTF8'')), ''hex'') '
+                || 'WHERE content IS NOT NULL', t.table_name);
+    END LOOP;
+END;
+$$;
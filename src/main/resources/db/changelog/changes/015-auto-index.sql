@@ -0,0 +1,14 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:15-auto-index
+ALTER TABLE pods ADD COLUMN auto_index BOOLEAN NOT NULL DEFAULT false;
+
+-- Items written to auto-indexed pods, waiting for the debouncer to batch them into item events
+CREATE TABLE pending_item_changes (
+    id BIGSERIAL PRIMARY KEY,
+    pod_id VARCHAR(255) NOT NULL,
+    item_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_pending_item_changes_pod_id ON pending_item_changes(pod_id, id);
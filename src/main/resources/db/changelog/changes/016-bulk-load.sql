@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:16-bulk-load
+-- During a bulk load a model's chunks are written to an unindexed staging table, which is
+-- indexed once and swapped in when the load is finished.
+ALTER TABLE embedding_models ADD COLUMN staging_table VARCHAR(63);
+ALTER TABLE embedding_models ADD COLUMN bulk_status VARCHAR(32);
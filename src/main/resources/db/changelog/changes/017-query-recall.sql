@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:17-query-recall
+-- Recall level requested for an async query; null means the configured default.
+ALTER TABLE query_jobs ADD COLUMN recall VARCHAR(16);
@@ -0,0 +1,14 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:18-job-item-outcomes
+-- Latest outcome of each item of a running job, written before its offset is committed.
+-- Keyed by item, so redelivered and re-sent items are counted once; the job counters are
+-- recounted from here if a node dies holding unflushed increments.
+CREATE TABLE indexing_job_items (
+    job_id VARCHAR(255) NOT NULL,
+    item_id VARCHAR(255) NOT NULL,
+    failed BOOLEAN NOT NULL,
+    PRIMARY KEY (job_id, item_id)
+);
+
+ALTER TABLE indexing_jobs ADD COLUMN progress_at TIMESTAMP;
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:19-outbox-retry
+-- Failed rows wait for next_attempt_at, so they no longer hold the head of the queue;
+-- rows that reach the configured attempt limit are parked and skipped by the relay
+ALTER TABLE outbox_messages ADD COLUMN next_attempt_at TIMESTAMP;
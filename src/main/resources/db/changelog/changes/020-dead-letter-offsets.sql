@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:20-dead-letter-offsets
+-- Position of the DLQ record a dead letter was ingested from, so a redelivered record is
+-- stored once. Only the item DLQ topic is ingested, so partition and offset identify it.
+ALTER TABLE dead_letters ADD COLUMN dlq_partition INT;
+ALTER TABLE dead_letters ADD COLUMN dlq_offset BIGINT;
+
+CREATE UNIQUE INDEX uq_dead_letters_dlq_position ON dead_letters(dlq_partition, dlq_offset);
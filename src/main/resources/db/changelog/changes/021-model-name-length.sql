@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:21-model-name-length splitStatements:false
+-- Model names were limited to 50 characters here but 100 in pod_embedding_models and
+-- embeddings. Widening a VARCHAR only touches the catalog.
+ALTER TABLE embedding_models ALTER COLUMN model TYPE VARCHAR(100);
+
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT table_name FROM embedding_models
+            UNION ALL SELECT staging_table FROM embedding_models WHERE staging_table IS NOT NULL LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN model_version TYPE VARCHAR(100)', t.table_name);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:22-vector-compaction
+-- Last id rewritten by the compaction that follows a HALF conversion, so it resumes after a restart
+ALTER TABLE embedding_models ADD COLUMN compacted_through VARCHAR(255);
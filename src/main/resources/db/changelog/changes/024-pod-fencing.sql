@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:24-pod-fencing
+-- Every pod gets its model row when it is created, so lookups no longer create one and
+-- in-flight work for a deleted pod cannot bring it back. Backfill pods created before.
+INSERT INTO pod_embedding_models (pod_id, active_model, total_items, migrated_items)
+SELECT p.id, COALESCE((SELECT c.model_version FROM vector_chunks c WHERE c.pod_id = p.id LIMIT 1), '${default-embedding-model}'), 0, 0
+FROM pods p
+ON CONFLICT (pod_id) DO NOTHING;
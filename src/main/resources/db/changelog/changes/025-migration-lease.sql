@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:25-migration-lease
+-- Migration batches are embedded outside any transaction; a heartbeat keeps each migrating
+-- pod on one node instead of the row lock that used to be held across the embedding call
+ALTER TABLE pod_embedding_models ADD COLUMN heartbeat_at TIMESTAMP;
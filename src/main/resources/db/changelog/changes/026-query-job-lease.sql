@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:26-query-job-lease
+-- A running query job belongs to the run that claimed it and is only re-queued once that
+-- run stops heartbeating; completion updates check the run id
+ALTER TABLE query_jobs ADD COLUMN run_id VARCHAR(36);
+ALTER TABLE query_jobs ADD COLUMN heartbeat_at TIMESTAMP;
@@ -0,0 +1,23 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:27-pod-index-items
+-- The fallback index records which items it covers; their text is read from data_items
+-- when it is needed, so editing or deleting an item never rewrites the whole index.
+DELETE FROM pod_indexes i WHERE NOT EXISTS (SELECT 1 FROM pods p WHERE p.id = i.pod_id);
+ALTER TABLE pod_indexes ADD CONSTRAINT fk_pod_indexes_pods FOREIGN KEY (pod_id) REFERENCES pods(id) ON DELETE CASCADE;
+
+CREATE TABLE pod_index_items (
+    pod_id VARCHAR(255) NOT NULL,
+    item_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (pod_id, item_id),
+    CONSTRAINT fk_pod_index_items_pod_indexes FOREIGN KEY (pod_id) REFERENCES pod_indexes(pod_id) ON DELETE CASCADE,
+    CONSTRAINT fk_pod_index_items_data_items FOREIGN KEY (item_id) REFERENCES data_items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pod_index_items_item ON pod_index_items(item_id);
+
+-- Existing indexes were built from every item of their pod
+INSERT INTO pod_index_items (pod_id, item_id)
+SELECT i.pod_id, d.id FROM pod_indexes i JOIN data_items d ON d.pod_id = i.pod_id;
+
+ALTER TABLE pod_indexes DROP COLUMN combined_text;
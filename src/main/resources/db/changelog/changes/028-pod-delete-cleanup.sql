@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset raghav-ai:28-pod-delete-cleanup
+-- Deleting a pod drops its unsent outbox messages and fails its open query jobs
+ALTER TABLE outbox_messages ADD COLUMN pod_id VARCHAR(255);
+UPDATE outbox_messages SET pod_id = payload::jsonb ->> 'podId' WHERE sent_at IS NULL;
+CREATE INDEX idx_outbox_messages_unsent_pod_id ON outbox_messages(pod_id) WHERE sent_at IS NULL;
+CREATE INDEX idx_query_jobs_pod_id_status ON query_jobs(pod_id, status);